@@ -0,0 +1,234 @@
+package com.example.benchmark;
+
+import com.example.model.Student;
+import com.example.model.StudentValidator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Realistic synthetic rosters for benchmarks, load tests and demo databases.
+ *
+ * Names follow Malaysian naming patterns in roughly the population's proportions: Malay
+ * (given name, bin/binti, father's name), Chinese (surname first, two-syllable given name,
+ * sometimes an English name in front) and Indian (given name, a/l or a/p, father's name).
+ * Every student passes StudentValidator, so birthdates fall in the 4-6 age window as of
+ * today. About one child in ten has an allergy, weighted towards the allergies most
+ * reported in Southeast Asian preschool surveys (shellfish, egg, milk, dust mite, peanut).
+ *
+ * Student i depends only on the seed and i, so any size, any slice and any thread give the
+ * same students for the same seed.
+ *
+ * Command line: {@code RosterGenerator <count> [seed] [file.csv]} writes a CSV for the
+ * Import CSV button (to stdout without a file).
+ */
+public final class RosterGenerator {
+
+    public static final long DEFAULT_SEED = 42;
+
+    // ===== Name parts =====
+    private static final String[] MALAY_BOYS = {
+        "Adam", "Aiman", "Amir", "Ariff", "Danish", "Faris", "Hakim", "Harith", "Haziq", "Irfan",
+        "Iskandar", "Luqman", "Naim", "Qayyum", "Rayyan", "Syafiq", "Umar", "Zikri", "Zulkifli", "Hafiz"
+    };
+    private static final String[] MALAY_GIRLS = {
+        "Aisyah", "Alya", "Amani", "Damia", "Hana", "Humaira", "Iman", "Insyirah", "Khadijah", "Maryam",
+        "Medina", "Nadia", "Qistina", "Safiya", "Sofea", "Syifa", "Wardah", "Yasmin", "Zahra", "Zulaikha"
+    };
+    private static final String[] MALAY_FATHERS = {
+        "Abdullah", "Ahmad", "Azman", "Fauzi", "Hamzah", "Hassan", "Ibrahim", "Ismail", "Kamal", "Mahmud",
+        "Mohd Noor", "Osman", "Rahman", "Razak", "Rosli", "Salleh", "Yusof", "Zainal", "Zakaria", "Roslan"
+    };
+    private static final String[] CHINESE_SURNAMES = {
+        "Tan", "Lim", "Lee", "Ng", "Wong", "Chan", "Ong", "Goh", "Teh", "Chong",
+        "Yap", "Chin", "Lau", "Khoo", "Low", "Cheah", "Foo", "Ho", "Leong", "Tay"
+    };
+    private static final String[] CHINESE_SYLLABLES_BOYS = {
+        "Wei", "Jun", "Hao", "Jia", "Zhi", "Kai", "Yi", "Jie", "Hong", "Ming", "Xuan", "Cheng", "Yong", "Hui"
+    };
+    private static final String[] CHINESE_SYLLABLES_GIRLS = {
+        "Mei", "Xin", "Ling", "Yi", "Hui", "Qi", "Jia", "Wen", "Xuan", "Ying", "Shu", "Yan", "En", "Tong"
+    };
+    private static final String[] ENGLISH_BOYS = {"Jayden", "Ethan", "Ryan", "Lucas", "Darren", "Aaron", "Marcus"};
+    private static final String[] ENGLISH_GIRLS = {"Chloe", "Vanessa", "Sophie", "Charlotte", "Grace", "Joanne", "Elaine"};
+    private static final String[] INDIAN_BOYS = {
+        "Arjun", "Aadhav", "Dhanush", "Harish", "Kavin", "Mithran", "Nithin", "Pranav", "Rishi", "Sanjay",
+        "Tharun", "Vikram", "Yuvan", "Kishore"
+    };
+    private static final String[] INDIAN_GIRLS = {
+        "Anjali", "Dharshini", "Divya", "Haritha", "Kavya", "Meera", "Nisha", "Priya", "Sanjana", "Shalini",
+        "Thanusha", "Varsha", "Yashini", "Keerthana"
+    };
+    private static final String[] INDIAN_FATHERS = {
+        "Ramesh", "Suresh", "Ganesan", "Muthu", "Rajendran", "Selvam", "Krishnan", "Subramaniam", "Kumar",
+        "Arumugam", "Palani", "Maniam", "Velu", "Sivakumar"
+    };
+
+    // ===== Addresses =====
+    private static final String[] STREETS = {
+        "Jalan Ampang", "Jalan Tun Razak", "Jalan Bangsar", "Lorong Maarof", "Jalan SS 2/24", "Jalan PJU 1/42",
+        "Jalan Kenari 3", "Jalan Setia Murni", "Jalan Wangsa Delima 5", "Jalan Cheras Utama", "Jalan Kuchai Maju 2",
+        "Jalan Klang Lama", "Jalan Desa Bakti", "Jalan Puchong Jaya", "Jalan USJ 9/5"
+    };
+    private static final String[] AREAS = {
+        "Kuala Lumpur", "Petaling Jaya", "Subang Jaya", "Shah Alam", "Cheras", "Puchong", "Bangsar",
+        "Setapak", "Wangsa Maju", "Klang", "Kajang", "Ampang"
+    };
+
+    // ===== Allergies: weights among allergic children =====
+    private static final String[] ALLERGIES = {
+        "Shellfish", "Egg", "Cow's milk", "Dust mite", "Peanut", "Fish", "Tree nuts", "Wheat", "Soy", "Penicillin"
+    };
+    private static final int[] ALLERGY_WEIGHTS = {24, 18, 14, 12, 11, 6, 5, 4, 3, 3};
+    private static final double ALLERGY_RATE = 0.10;
+    private static final double SECOND_ALLERGY_RATE = 0.15;
+
+    private final long seed;
+    private final LocalDate today;
+
+    public RosterGenerator(long seed) {
+        this(seed, LocalDate.now());
+    }
+
+    /** Generates ages as of {@code today}, e.g. a fixed date for byte-identical files across days. */
+    public RosterGenerator(long seed, LocalDate today) {
+        this.seed = seed;
+        this.today = today;
+    }
+
+    // ===== Rosters =====
+    /** {@code size} students without ids, ready for inserting. */
+    public static List<Student> generate(int size, long seed) {
+        RosterGenerator generator = new RosterGenerator(seed);
+        List<Student> students = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) students.add(generator.student(i));
+        return students;
+    }
+
+    /** Like {@link #generate}, with ids 1..size as the database would assign them. */
+    public static List<Student> generateWithIds(int size, long seed) {
+        List<Student> students = generate(size, seed);
+        for (int i = 0; i < students.size(); i++) students.get(i).setId(i + 1);
+        return students;
+    }
+
+    /** Student number {@code index} of this seed's roster. */
+    public Student student(long index) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        boolean male = random.nextInt(100) < 51;
+
+        int community = random.nextInt(100);
+        String name = community < 65 ? malayName(random, male)
+                : community < 90 ? chineseName(random, male)
+                : indianName(random, male);
+
+        // Period.between(birthdate, today) must give 4, 5 or 6 years
+        LocalDate oldest = today.minusYears(StudentValidator.MAX_AGE + 1).plusDays(1);
+        LocalDate youngest = today.minusYears(StudentValidator.MIN_AGE);
+        LocalDate birthdate = oldest.plusDays(random.nextLong(youngest.toEpochDay() - oldest.toEpochDay() + 1));
+
+        return new Student(name, birthdate, address(random), allergy(random), male ? "Male" : "Female");
+    }
+
+    private static String malayName(SplittableRandom random, boolean male) {
+        String given = male ? pick(random, MALAY_BOYS) : pick(random, MALAY_GIRLS);
+        // Muhammad / Nur in front of the given name is very common
+        if (random.nextInt(100) < 40) given = (male ? "Muhammad " : "Nur ") + given;
+        return given + (male ? " bin " : " binti ") + pick(random, MALAY_FATHERS);
+    }
+
+    private static String chineseName(SplittableRandom random, boolean male) {
+        String[] syllables = male ? CHINESE_SYLLABLES_BOYS : CHINESE_SYLLABLES_GIRLS;
+        String name = pick(random, CHINESE_SURNAMES) + " " + pick(random, syllables) + " " + pick(random, syllables);
+        if (random.nextInt(100) < 30) name = pick(random, male ? ENGLISH_BOYS : ENGLISH_GIRLS) + " " + name;
+        return name;
+    }
+
+    private static String indianName(SplittableRandom random, boolean male) {
+        return (male ? pick(random, INDIAN_BOYS) + " a/l " : pick(random, INDIAN_GIRLS) + " a/p ")
+                + pick(random, INDIAN_FATHERS);
+    }
+
+    private static String address(SplittableRandom random) {
+        return (1 + random.nextInt(120)) + ", " + pick(random, STREETS) + ", "
+                + String.format("%05d", 40000 + random.nextInt(29000)) + " " + pick(random, AREAS);
+    }
+
+    // Null for most children
+    private static String allergy(SplittableRandom random) {
+        if (random.nextDouble() >= ALLERGY_RATE) return null;
+        String first = weightedAllergy(random);
+        if (random.nextDouble() >= SECOND_ALLERGY_RATE) return first;
+        String second = weightedAllergy(random);
+        return second.equals(first) ? first : first + ", " + second;
+    }
+
+    private static String weightedAllergy(SplittableRandom random) {
+        int total = 0;
+        for (int w : ALLERGY_WEIGHTS) total += w;
+        int r = random.nextInt(total);
+        for (int i = 0; i < ALLERGIES.length; i++) {
+            r -= ALLERGY_WEIGHTS[i];
+            if (r < 0) return ALLERGIES[i];
+        }
+        return ALLERGIES[ALLERGIES.length - 1];
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    /** A name fragment a user might type into search, drawn from the same dictionaries. */
+    public static String searchTerm(SplittableRandom random) {
+        return switch (random.nextInt(4)) {
+            case 0 -> pick(random, MALAY_GIRLS);
+            case 1 -> pick(random, MALAY_BOYS);
+            case 2 -> pick(random, CHINESE_SURNAMES);
+            default -> pick(random, INDIAN_FATHERS);
+        };
+    }
+
+    // ===== CSV =====
+    /** Writes students {@code 0..count-1} in the Import CSV format (header: name, birthdate, address, allergy, gender). */
+    public void writeCsv(long count, Writer out) throws IOException {
+        out.write("name,birthdate,address,allergy,gender\n");
+        for (long i = 0; i < count; i++) {
+            Student s = student(i);
+            out.write(csv(s.getName()) + "," + s.getBirthdate() + "," + csv(s.getAddress()) + ","
+                    + csv(s.getAllergy()) + "," + s.getGender() + "\n");
+        }
+        out.flush();
+    }
+
+    private static String csv(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0) return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.err.println("Usage: RosterGenerator <count> [seed] [file.csv]");
+            System.exit(1);
+        }
+        long count = Long.parseLong(args[0]);
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_SEED;
+        RosterGenerator generator = new RosterGenerator(seed);
+
+        if (args.length > 2) {
+            try (Writer out = Files.newBufferedWriter(Paths.get(args[2]), StandardCharsets.UTF_8)) {
+                generator.writeCsv(count, out);
+            }
+        } else {
+            generator.writeCsv(count, new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.benchmark;
+
+import com.example.database.DBConnection;
+import com.example.database.EmbeddedBackend;
+import com.example.database.StudentDAO;
+import com.example.model.Student;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * In-memory instance of the embedded backend (H2 in MySQL mode), standing in for MySQL
+ * with the same schema, change log included. StudentDAO is pointed at it through the
+ * kindergarten.db.* properties, so the benchmarks run its real SQL and pooling.
+ *
+ * Call {@link #start} before anything touches StudentDAO: the backend and its connection
+ * settings are read once, when DBConnection is initialised.
+ */
+public final class StandInDatabase {
+
+    private StandInDatabase() {
+    }
+
+    /**
+     * Empties the students table and loads {@code size} synthetic students through
+     * StudentDAO's batched insert. Each benchmark fork is its own JVM, so each gets a fresh database.
+     */
+    public static synchronized void start(int size) throws SQLException {
+        System.setProperty("kindergarten.db.backend", "embedded");
+        System.setProperty("kindergarten.db.url", EmbeddedBackend.inMemoryUrl("kindergarten"));
+
+        // The first connection creates the schema
+        try (Connection conn = DBConnection.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("TRUNCATE TABLE students");
+            stmt.execute("TRUNCATE TABLE students_changes");
+        }
+
+        List<Student> students = RosterGenerator.generate(size, RosterGenerator.DEFAULT_SEED);
+        for (int from = 0; from < size; from += 10_000) {
+            StudentDAO.addStudents(students.subList(from, Math.min(size, from + 10_000)));
+        }
+    }
+
+    /** Closes the pooled connections; the in-memory data goes with the JVM. */
+    public static void stop() {
+        DBConnection.shutdown();
+    }
+}
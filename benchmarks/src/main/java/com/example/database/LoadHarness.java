@@ -0,0 +1,369 @@
+package com.example.database;
+
+import com.example.benchmark.RosterGenerator;
+import com.example.benchmark.StandInDatabase;
+import com.example.model.Student;
+import com.example.model.StudentValidator;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Simulates several terminals working on the roster at once: each terminal is a thread
+ * issuing a mix of adds, updates, deletes, name searches and filters through StudentDAO,
+ * back to back or with a think time. After a warm-up, every call is timed; the report gives
+ * throughput and p50/p99/p99.9 latency per operation, plus conflicts, missing rows and
+ * errors by type, and the connection pool's counters.
+ *
+ * Terminals share one pool of known ids, so updates and deletes collide the way they would
+ * on a busy enrolment day.
+ *
+ * Usage:
+ *   LoadHarness [--terminals 8] [--duration 60] [--warmup 10] [--think-ms 0]
+ *               [--mix add=20,update=30,delete=10,search=25,filter=15]
+ *               [--seed-rows 0] [--seed 42] [--stand-in | --allow-live-database]
+ *
+ * With --stand-in it runs against a throwaway in-memory database. Running against the database
+ * DBConnection is configured for (-Dkindergarten.db.url=...) has to be asked for with
+ * --allow-live-database; even then the terminals only update and delete rows the harness
+ * inserted itself (--seed-rows and its adds), and whatever of those is left is deleted at the end.
+ */
+public final class LoadHarness {
+
+    enum Op { ADD, UPDATE, DELETE, SEARCH, FILTER }
+
+    // ===== Options =====
+    private int terminals = 8;
+    private int durationSeconds = 60;
+    private int warmupSeconds = 10;
+    private long thinkMillis;
+    private int seedRows;
+    private long seed = RosterGenerator.DEFAULT_SEED;
+    private boolean standIn;
+    private boolean allowLiveDatabase;
+    private final EnumMap<Op, Integer> mix = new EnumMap<>(Map.of(
+            Op.ADD, 20, Op.UPDATE, 30, Op.DELETE, 10, Op.SEARCH, 25, Op.FILTER, 15));
+
+    private final IdPool ids = new IdPool();
+
+    public static void main(String[] args) throws Exception {
+        LoadHarness harness = new LoadHarness();
+        try {
+            harness.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println("Usage: LoadHarness [--terminals N] [--duration S] [--warmup S] [--think-ms MS]"
+                    + " [--mix add=20,update=30,delete=10,search=25,filter=15] [--seed-rows N] [--seed N]"
+                    + " [--stand-in | --allow-live-database]");
+            System.exit(1);
+        }
+        harness.run();
+    }
+
+    private void parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--stand-in" -> standIn = true;
+                case "--allow-live-database" -> allowLiveDatabase = true;
+                default -> {
+                    if (i + 1 >= args.length) throw new IllegalArgumentException("Missing value for " + arg);
+                    String value = args[++i];
+                    switch (arg) {
+                        case "--terminals" -> terminals = Integer.parseInt(value);
+                        case "--duration" -> durationSeconds = Integer.parseInt(value);
+                        case "--warmup" -> warmupSeconds = Integer.parseInt(value);
+                        case "--think-ms" -> thinkMillis = Long.parseLong(value);
+                        case "--seed-rows" -> seedRows = Integer.parseInt(value);
+                        case "--seed" -> seed = Long.parseLong(value);
+                        case "--mix" -> parseMix(value);
+                        default -> throw new IllegalArgumentException("Unknown option " + arg);
+                    }
+                }
+            }
+        }
+        if (terminals < 1 || durationSeconds < 1) throw new IllegalArgumentException("Need at least 1 terminal and 1 s");
+        if (standIn == allowLiveDatabase) {
+            // DBConnection is not touched yet: --stand-in has to configure it first
+            throw new IllegalArgumentException("Give either --stand-in, or --allow-live-database to run against "
+                    + "the database configured with -Dkindergarten.db.*");
+        }
+    }
+
+    // e.g. "add=20,update=30,delete=10,search=25,filter=15"; unlisted operations are not run
+    private void parseMix(String value) {
+        mix.replaceAll((op, weight) -> 0);
+        for (String part : value.split(",")) {
+            String[] kv = part.split("=");
+            if (kv.length != 2) throw new IllegalArgumentException("Bad mix entry: " + part);
+            mix.put(Op.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix weights must add up to more than 0");
+        }
+    }
+
+    // ===== Run =====
+    private void run() throws Exception {
+        if (standIn) {
+            StandInDatabase.start(seedRows);
+            loadIds();
+        } else if (seedRows > 0) {
+            // Only rows inserted here go into the id pool; the rest of a live roster is just read
+            List<Student> students = RosterGenerator.generate(seedRows, seed);
+            for (int from = 0; from < seedRows; from += StudentImporter.CHUNK_SIZE) {
+                StudentDAO.addStudents(students.subList(from, Math.min(seedRows, from + StudentImporter.CHUNK_SIZE)));
+            }
+            for (Student s : students) ids.add(s.getId());
+        }
+
+        System.out.printf("Load test: %d terminals, %d s measured after %d s warm-up, think time %d ms, %d students%n",
+                terminals, durationSeconds, warmupSeconds, thinkMillis, ids.size());
+        System.out.println("Mix: " + mix);
+
+        long start = System.nanoTime();
+        long measureFrom = start + warmupSeconds * 1_000_000_000L;
+        long end = measureFrom + durationSeconds * 1_000_000_000L;
+
+        List<Terminal> running = new ArrayList<>();
+        CountDownLatch done = new CountDownLatch(terminals);
+        for (int t = 0; t < terminals; t++) {
+            Terminal terminal = new Terminal(t, measureFrom, end, done);
+            running.add(terminal);
+            Thread thread = new Thread(terminal, "terminal-" + t);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+
+        report(running, (end - measureFrom) / 1e9);
+        if (!standIn) {
+            List<Integer> left = ids.drain();
+            System.out.println("Deleted " + StudentDAO.deleteAll(left) + " of the harness's rows left in the database");
+        }
+        DBConnection.shutdown();
+    }
+
+    private void loadIds() throws SQLException {
+        int afterId = 0;
+        List<Student> page;
+        while (!(page = StudentDAO.selectPage(afterId, 10_000)).isEmpty()) {
+            for (Student s : page) ids.add(s.getId());
+            afterId = page.get(page.size() - 1).getId();
+        }
+    }
+
+    // ===== One terminal =====
+    private final class Terminal implements Runnable {
+        private final long measureFrom;
+        private final long end;
+        private final CountDownLatch done;
+        private final SplittableRandom random;
+        private final RosterGenerator generator;
+        private final int mixTotal;
+        private long added;
+
+        final EnumMap<Op, LatencyLog> latencies = new EnumMap<>(Op.class);
+        // "op: outcome" -> count, for conflicts, missing rows and errors
+        final Map<String, Integer> outcomes = new TreeMap<>();
+
+        Terminal(int number, long measureFrom, long end, CountDownLatch done) {
+            this.measureFrom = measureFrom;
+            this.end = end;
+            this.done = done;
+            this.random = new SplittableRandom(seed + 1_000_003L * (number + 1));
+            this.generator = new RosterGenerator(seed + number + 1);
+            this.mixTotal = mix.values().stream().mapToInt(Integer::intValue).sum();
+            for (Op op : Op.values()) latencies.put(op, new LatencyLog());
+        }
+
+        @Override
+        public void run() {
+            try {
+                long now;
+                while ((now = System.nanoTime()) < end) {
+                    Op op = nextOp();
+                    String outcome;
+                    long started = System.nanoTime();
+                    try {
+                        outcome = execute(op);
+                    } catch (SQLException e) {
+                        outcome = DataAccessException.of(op.name(), e).getClass().getSimpleName();
+                    } catch (RuntimeException e) {
+                        outcome = e.getClass().getSimpleName();
+                    }
+                    long elapsed = System.nanoTime() - started;
+
+                    if (now >= measureFrom && started + elapsed <= end) {
+                        latencies.get(op).add(elapsed);
+                        if (outcome != null) outcomes.merge(op.name().toLowerCase() + ": " + outcome, 1, Integer::sum);
+                    }
+                    if (thinkMillis > 0) Thread.sleep(thinkMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private Op nextOp() {
+            int r = random.nextInt(mixTotal);
+            for (Map.Entry<Op, Integer> e : mix.entrySet()) {
+                r -= e.getValue();
+                if (r < 0) return e.getKey();
+            }
+            return Op.SEARCH;
+        }
+
+        // Returns null on success, or what happened instead (conflict, not found)
+        private String execute(Op op) throws SQLException {
+            switch (op) {
+                case ADD -> {
+                    // Each terminal draws from its own slice of the generator, so names differ between terminals
+                    Student student = generator.student(added++);
+                    ids.add(StudentDAO.insert(student).getId());
+                    return null;
+                }
+                case UPDATE -> {
+                    Integer id = ids.pick(random);
+                    if (id == null) return "no rows";
+                    Student student = StudentDAO.selectById(id);
+                    if (student == null) return "not found";
+                    if (random.nextBoolean()) {
+                        student.setAddress(generator.student(random.nextLong(1_000_000)).getAddress());
+                    } else {
+                        student.setAllergy(student.getAllergy() == null ? "Egg" : null);
+                    }
+                    return switch (StudentDAO.update(student)) {
+                        case UPDATED, UNCHANGED -> null;
+                        case CONFLICT -> "conflict";
+                        case NOT_FOUND -> "not found";
+                    };
+                }
+                case DELETE -> {
+                    Integer id = ids.take(random);
+                    if (id == null) return "no rows";
+                    return StudentDAO.delete(id) ? null : "not found";
+                }
+                case SEARCH -> {
+                    StudentDAO.searchByName(RosterGenerator.searchTerm(random));
+                    return null;
+                }
+                case FILTER -> {
+                    Integer age = random.nextInt(4) == 0 ? null
+                            : StudentValidator.MIN_AGE + random.nextInt(StudentValidator.MAX_AGE - StudentValidator.MIN_AGE + 1);
+                    String gender = random.nextBoolean() ? null : random.nextBoolean() ? "Male" : "Female";
+                    String allergy = age != null && random.nextInt(3) != 0 ? null : "E";
+                    StudentDAO.select(age, gender, allergy);
+                    return null;
+                }
+                default -> throw new IllegalStateException("Unknown operation " + op);
+            }
+        }
+    }
+
+    // ===== Report =====
+    private void report(List<Terminal> running, double seconds) {
+        Map<Op, LatencyLog> merged = new EnumMap<>(Op.class);
+        Map<String, Integer> outcomes = new TreeMap<>();
+        for (Op op : Op.values()) merged.put(op, new LatencyLog());
+        for (Terminal t : running) {
+            t.latencies.forEach((op, log) -> merged.get(op).addAll(log));
+            t.outcomes.forEach((k, v) -> outcomes.merge(k, v, Integer::sum));
+        }
+
+        LatencyLog all = new LatencyLog();
+        System.out.printf("%n%-8s %10s %10s %9s %9s %9s %9s%n", "op", "count", "ops/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        Map<String, LatencyLog> rows = new LinkedHashMap<>();
+        for (Op op : Op.values()) {
+            if (mix.get(op) > 0) rows.put(op.name().toLowerCase(), merged.get(op));
+            all.addAll(merged.get(op));
+        }
+        rows.put("total", all);
+        rows.forEach((name, log) -> {
+            log.sort();
+            System.out.printf("%-8s %10d %10.1f %9.2f %9.2f %9.2f %9.2f%n", name, log.size(), log.size() / seconds,
+                    log.percentileMillis(0.50), log.percentileMillis(0.99), log.percentileMillis(0.999),
+                    log.percentileMillis(1.0));
+        });
+
+        if (!outcomes.isEmpty()) {
+            System.out.println("\nNot completed as requested:");
+            outcomes.forEach((k, v) -> System.out.printf("  %-40s %d%n", k, v));
+        }
+        System.out.println("\nPool: " + DBConnection.getPoolStats());
+    }
+
+    // Every latency of one operation (ns), sorted once at the end for exact percentiles
+    private static final class LatencyLog {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long nanos) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = nanos;
+        }
+
+        void addAll(LatencyLog other) {
+            if (size + other.size > values.length) values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        void sort() {
+            Arrays.sort(values, 0, size);
+        }
+
+        // Nearest-rank percentile of the sorted values
+        double percentileMillis(double q) {
+            if (size == 0) return 0;
+            int rank = (int) Math.ceil(q * size);
+            return values[Math.max(0, Math.min(size, rank) - 1)] / 1e6;
+        }
+    }
+
+    // Ids the terminals may update and delete (as far as this process knows they exist), shared by all terminals
+    private static final class IdPool {
+        private final List<Integer> ids = new ArrayList<>();
+
+        synchronized void add(int id) {
+            ids.add(id);
+        }
+
+        synchronized int size() {
+            return ids.size();
+        }
+
+        synchronized Integer pick(SplittableRandom random) {
+            return ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+        }
+
+        // Swap-remove, so taking stays O(1)
+        synchronized Integer take(SplittableRandom random) {
+            if (ids.isEmpty()) return null;
+            int i = random.nextInt(ids.size());
+            Integer id = ids.get(i);
+            ids.set(i, ids.get(ids.size() - 1));
+            ids.remove(ids.size() - 1);
+            return id;
+        }
+
+        synchronized List<Integer> drain() {
+            List<Integer> all = new ArrayList<>(ids);
+            ids.clear();
+            return all;
+        }
+    }
+}
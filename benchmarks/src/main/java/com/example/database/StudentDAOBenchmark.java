@@ -0,0 +1,114 @@
+package com.example.database;
+
+import com.example.benchmark.RosterGenerator;
+import com.example.benchmark.StandInDatabase;
+import com.example.model.Student;
+import com.example.model.StudentSummary;
+import org.h2.tools.SimpleResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.sql.Date;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StudentDAO hot paths: turning result rows into Students, and the page, filter, count and
+ * summary queries against the H2 stand-in. Mapping is timed on an in-memory ResultSet so
+ * driver and network costs do not hide changes to mapStudent.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StudentDAOBenchmark {
+
+    // ===== Row mapping (no database) =====
+    @State(Scope.Thread)
+    public static class Rows {
+        @Param({"500", "100000"})
+        int rows;
+
+        SimpleResultSet resultSet;
+
+        @Setup(Level.Trial)
+        public void fill() {
+            resultSet = new SimpleResultSet();
+            resultSet.setAutoClose(false);
+            resultSet.addColumn("id", Types.INTEGER, 10, 0);
+            resultSet.addColumn("name", Types.VARCHAR, 100, 0);
+            resultSet.addColumn("birthdate", Types.DATE, 10, 0);
+            resultSet.addColumn("address", Types.VARCHAR, 255, 0);
+            resultSet.addColumn("allergy", Types.VARCHAR, 100, 0);
+            resultSet.addColumn("gender", Types.VARCHAR, 10, 0);
+            resultSet.addColumn("version", Types.INTEGER, 10, 0);
+            for (Student s : RosterGenerator.generateWithIds(rows, RosterGenerator.DEFAULT_SEED)) {
+                resultSet.addRow(s.getId(), s.getName(), Date.valueOf(s.getBirthdate()), s.getAddress(),
+                        s.getAllergy(), s.getGender(), 1);
+            }
+        }
+    }
+
+    @Benchmark
+    public void mapRows(Rows state, Blackhole bh) throws SQLException {
+        SimpleResultSet rs = state.resultSet;
+        rs.beforeFirst();
+        while (rs.next()) bh.consume(StudentDAO.mapStudent(rs));
+    }
+
+    // ===== Queries against the stand-in database =====
+    @State(Scope.Benchmark)
+    public static class Database {
+        @Param({"1000", "100000", "1000000"})
+        int size;
+
+        @Setup(Level.Trial)
+        public void load() throws SQLException {
+            StandInDatabase.start(size);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() {
+            StandInDatabase.stop();
+        }
+    }
+
+    @Benchmark
+    public List<Student> firstPage(Database db) throws SQLException {
+        return StudentDAO.selectPage(0, StudentDAO.PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<Student> filterAgeGender(Database db) throws SQLException {
+        return StudentDAO.select(5, "Female", null);
+    }
+
+    @Benchmark
+    public List<Student> filterAllergyPrefix(Database db) throws SQLException {
+        return StudentDAO.select(null, null, "Pea");
+    }
+
+    @Benchmark
+    public int count(Database db) throws SQLException {
+        return StudentDAO.count();
+    }
+
+    @Benchmark
+    public StudentSummary summarize(Database db) throws SQLException {
+        return StudentDAO.summarize();
+    }
+}
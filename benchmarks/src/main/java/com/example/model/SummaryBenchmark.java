@@ -0,0 +1,69 @@
+package com.example.model;
+
+import com.example.benchmark.RosterGenerator;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The summary panel's aggregation: counting a whole roster from scratch (initial load),
+ * keeping the counts current through one in-place edit, and re-rendering the label text.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class SummaryBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private List<Student> students;
+    private ObservableList<Student> roster;
+    private StudentSummary attached;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void load() {
+        students = RosterGenerator.generateWithIds(size, RosterGenerator.DEFAULT_SEED);
+        roster = FXCollections.observableArrayList(students);
+        attached = new StudentSummary();
+        attached.attach(roster);
+    }
+
+    @Benchmark
+    public StudentSummary aggregateAll() {
+        StudentSummary summary = new StudentSummary();
+        // A throwaway wrapper, so the listener does not stay registered on a shared list
+        summary.attach(FXCollections.observableList(students));
+        return summary;
+    }
+
+    @Benchmark
+    public StudentSummary editOne() {
+        int i = next++ % size;
+        roster.set(i, roster.get(i)); // Counted as remove + add, then re-rendered
+        return attached;
+    }
+
+    @Benchmark
+    public StudentSummary refresh() {
+        attached.refresh();
+        return attached;
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.report;
+
+import com.example.benchmark.RosterGenerator;
+import com.example.model.Student;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PDF export: row layout alone (text measurement and word wrap for every cell) and the
+ * whole export, layout, drawing and saving to a temporary file.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class PdfExportBenchmark {
+
+    @Param({"1000", "10000"})
+    int rows;
+
+    private final StudentPdfExporter exporter = new StudentPdfExporter();
+    private List<Student> students;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void prepare() throws IOException {
+        students = RosterGenerator.generateWithIds(rows, RosterGenerator.DEFAULT_SEED);
+        file = Files.createTempFile("students", ".pdf").toFile();
+    }
+
+    @TearDown(Level.Trial)
+    public void cleanUp() throws IOException {
+        Files.deleteIfExists(file.toPath());
+    }
+
+    @Benchmark
+    public void layout(Blackhole bh) {
+        for (Student s : students) bh.consume(exporter.layoutRow(s));
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        exporter.export(students, file, (done, total) -> { }, () -> false);
+        return file.length();
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.search;
+
+import com.example.benchmark.RosterGenerator;
+import com.example.model.Student;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What Apply Filter costs on the FX thread: building the matcher from the index and
+ * re-filtering (and, for name search, re-sorting) the table's view of the roster, the way
+ * StudentController.applyFilter does. scanAge is the same filter without the index, as a baseline.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Thread)
+public class FilterBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    int size;
+
+    private final StudentIndex index = new StudentIndex();
+    private FilteredList<Student> filtered;
+    private SortedList<Student> sorted;
+
+    @Setup(Level.Trial)
+    public void load() {
+        ObservableList<Student> roster = FXCollections.observableArrayList(
+                RosterGenerator.generateWithIds(size, RosterGenerator.DEFAULT_SEED));
+        index.attach(roster); // Before the FilteredList, as in the controller
+        filtered = new FilteredList<>(roster);
+        sorted = new SortedList<>(filtered);
+    }
+
+    @Benchmark
+    public int filterAge() {
+        filtered.setPredicate(index.matcher(StudentQuery.age(5)));
+        return sorted.size();
+    }
+
+    @Benchmark
+    public int filterAllergy() {
+        filtered.setPredicate(index.matcher(StudentQuery.allergy("peanut")));
+        return sorted.size();
+    }
+
+    @Benchmark
+    public int filterAdvanced() {
+        filtered.setPredicate(index.matcher(StudentQuery.parse("age 5 AND allergy peanut AND female")));
+        return sorted.size();
+    }
+
+    @Benchmark
+    public int searchNameRanked() {
+        filtered.setPredicate(index.matcher(StudentQuery.name("tan")));
+        sorted.setComparator(index.nameRanking("tan"));
+        int matches = sorted.size();
+        sorted.setComparator(null);
+        return matches;
+    }
+
+    @Benchmark
+    public int scanAge() {
+        int birthYear = LocalDate.now().getYear() - 5;
+        filtered.setPredicate(s -> s.getBirthdate() != null && s.getBirthdate().getYear() == birthYear);
+        return sorted.size();
+    }
+}
@@ -0,0 +1,11 @@
+-- Adds the generated birth month column and the indexes used by the
+-- filter and summary queries in StudentDAO (filterStudents, getSummary).
+-- Run once against a database created from an older students_db.sql.
+USE `kindergarten`;
+
+ALTER TABLE `students`
+  ADD COLUMN `birth_month` tinyint GENERATED ALWAYS AS (MONTH(`birthdate`)) STORED,
+  ADD KEY `idx_students_birthdate` (`birthdate`),
+  ADD KEY `idx_students_gender_birthdate` (`gender`, `birthdate`),
+  ADD KEY `idx_students_allergy` (`allergy`),
+  ADD KEY `idx_students_birth_month` (`birth_month`);
@@ -0,0 +1,22 @@
+-- Adds the change log read by StudentDAO.getChangesSince. Every insert, update
+-- and delete on `students` appends one row with an increasing `seq`, so other
+-- terminals can poll WHERE seq > ? instead of reloading the whole roster.
+-- Run once against a database created from an older students_db.sql.
+USE `kindergarten`;
+
+CREATE TABLE `students_changes` (
+  `seq` bigint NOT NULL AUTO_INCREMENT,
+  `student_id` int NOT NULL,
+  `op` char(1) NOT NULL, -- I = insert, U = update, D = delete
+  `changed_at` timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`seq`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+DELIMITER //
+CREATE TRIGGER `students_after_insert` AFTER INSERT ON `students` FOR EACH ROW
+  INSERT INTO `students_changes` (`student_id`, `op`) VALUES (NEW.`id`, 'I')//
+CREATE TRIGGER `students_after_update` AFTER UPDATE ON `students` FOR EACH ROW
+  INSERT INTO `students_changes` (`student_id`, `op`) VALUES (NEW.`id`, 'U')//
+CREATE TRIGGER `students_after_delete` AFTER DELETE ON `students` FOR EACH ROW
+  INSERT INTO `students_changes` (`student_id`, `op`) VALUES (OLD.`id`, 'D')//
+DELIMITER ;
@@ -0,0 +1,7 @@
+-- Adds the row version used for optimistic locking by StudentDAO.update:
+-- every UPDATE bumps it and only succeeds if the version it read is still current.
+-- Run once against a database created from an older students_db.sql.
+USE `kindergarten`;
+
+ALTER TABLE `students`
+  ADD COLUMN `version` int NOT NULL DEFAULT 1;
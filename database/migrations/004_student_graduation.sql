@@ -0,0 +1,10 @@
+-- Adds the graduation year used by StudentDAO.graduateStudents: graduating a
+-- student sets it instead of deleting the row, so alumni records are kept.
+-- Roster queries read only rows WHERE graduated_year IS NULL (the index also
+-- serves the keyset paging, as InnoDB appends the primary key to it).
+-- Run once against a database created from an older students_db.sql.
+USE `kindergarten`;
+
+ALTER TABLE `students`
+  ADD COLUMN `graduated_year` smallint DEFAULT NULL,
+  ADD KEY `idx_students_graduated_year` (`graduated_year`);
@@ -8,9 +8,35 @@ CREATE TABLE `students` (
   `address` varchar(255) NOT NULL,
   `allergy` varchar(100) DEFAULT NULL,
   `gender` varchar(10),
-  PRIMARY KEY (`id`)
+  `birth_month` tinyint GENERATED ALWAYS AS (MONTH(`birthdate`)) STORED,
+  `version` int NOT NULL DEFAULT 1, -- bumped by every UPDATE (optimistic locking)
+  `graduated_year` smallint DEFAULT NULL, -- set when the student graduates; alumni are kept, off the roster
+  PRIMARY KEY (`id`),
+  KEY `idx_students_birthdate` (`birthdate`),
+  KEY `idx_students_gender_birthdate` (`gender`, `birthdate`),
+  KEY `idx_students_allergy` (`allergy`),
+  KEY `idx_students_birth_month` (`birth_month`),
+  KEY `idx_students_graduated_year` (`graduated_year`)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
 
+-- Change log polled by every terminal (see StudentDAO.getChangesSince)
+CREATE TABLE `students_changes` (
+  `seq` bigint NOT NULL AUTO_INCREMENT,
+  `student_id` int NOT NULL,
+  `op` char(1) NOT NULL, -- I = insert, U = update, D = delete
+  `changed_at` timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+  PRIMARY KEY (`seq`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+DELIMITER //
+CREATE TRIGGER `students_after_insert` AFTER INSERT ON `students` FOR EACH ROW
+  INSERT INTO `students_changes` (`student_id`, `op`) VALUES (NEW.`id`, 'I')//
+CREATE TRIGGER `students_after_update` AFTER UPDATE ON `students` FOR EACH ROW
+  INSERT INTO `students_changes` (`student_id`, `op`) VALUES (NEW.`id`, 'U')//
+CREATE TRIGGER `students_after_delete` AFTER DELETE ON `students` FOR EACH ROW
+  INSERT INTO `students_changes` (`student_id`, `op`) VALUES (OLD.`id`, 'D')//
+DELIMITER ;
+
 INSERT INTO `students` (`name`, `birthdate`, `address`, `allergy`, `gender`) VALUES
 ('Nur Zahra Binti Amin','2019-08-17','Shah Alam','Milk','Female'),
 ('Ahmad Zafran Bin Ali','2020-05-16','Kuala Lumpur','Peanut','Male'),
@@ -0,0 +1,187 @@
+package com.example.controller;
+
+import com.example.database.StudentDAO;
+import com.example.model.Student;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the roster in step with edits made on other terminals.
+ * Polls the students_changes log (WHERE seq > cursor) on a background thread and turns
+ * the new entries into one delta of added, updated and removed students, applied on the
+ * FX thread. Nothing is read when nothing changed, and a change this terminal made itself
+ * is recognised by its unchanged values and skipped.
+ *
+ * Sequence numbers are handed out at insert time but become visible at commit, so a
+ * missing number may be a transaction still in flight. The cursor stops at such a gap
+ * until it fills or times out (a rolled-back transaction leaves one for good).
+ *
+ * Every start and stop begins a new epoch. A delta computed or queued in an earlier epoch
+ * belongs to a roster that has since been reloaded, and is dropped instead of applied.
+ */
+class ChangeFeedPoller {
+
+    private static final long POLL_MILLIS = Long.getLong("kindergarten.changes.pollMs", 2_000);
+    private static final long GAP_TIMEOUT_MILLIS = Long.getLong("kindergarten.changes.gapTimeoutMs", 10_000);
+    private static final int BATCH_SIZE = 1000;
+
+    /**
+     * Changes to apply to the roster, computed against its current contents. Once applied,
+     * the roster reflects every change up to {@code throughSeq}. May be empty.
+     */
+    record Delta(List<Student> added, List<Student> updated, List<Student> removed, long throughSeq) {
+
+        boolean isEmpty() {
+            return added.isEmpty() && updated.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    private final Consumer<Delta> apply;
+    // Roster rows by id, maintained on the FX thread
+    private final Map<Integer, Student> byId = new HashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "change-feed");
+        t.setDaemon(true);
+        return t;
+    });
+    private ScheduledFuture<?> polling;
+    // Bumped by start and stop; polls and deltas carry the epoch they were started in
+    private volatile long epoch;
+
+    // Poll thread only: every change up to the cursor has been applied
+    private long cursor;
+    // Poll thread only: changes past a gap that were already applied
+    private final TreeSet<Long> appliedAboveCursor = new TreeSet<>();
+    private long gapSinceMillis;
+
+    // apply runs on the FX thread
+    ChangeFeedPoller(Consumer<Delta> apply) {
+        this.apply = apply;
+    }
+
+    // Track the roster's ids (FX thread); must be attached before rows are loaded
+    void attach(ObservableList<Student> roster) {
+        roster.addListener((ListChangeListener<Student>) change -> {
+            while (change.next()) {
+                for (Student s : change.getRemoved()) byId.remove(s.getId(), s);
+                for (Student s : change.getAddedSubList()) byId.put(s.getId(), s);
+            }
+        });
+    }
+
+    // Apply every change after the given sequence number (from StudentDAO.getLatestChangeSeq)
+    synchronized void start(long afterSeq) {
+        stop();
+        long current = ++epoch;
+        scheduler.execute(() -> resetCursor(afterSeq)); // Runs before the first poll (single thread)
+        polling = scheduler.scheduleWithFixedDelay(() -> poll(current), 0, POLL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    // True if the roster already holds this id, e.g. because the feed delivered a local insert first (FX thread)
+    boolean contains(int id) {
+        return byId.containsKey(id);
+    }
+
+    // Also drops deltas already queued for the FX thread
+    synchronized void stop() {
+        epoch++;
+        if (polling != null) polling.cancel(false);
+        polling = null;
+    }
+
+    private void resetCursor(long seq) {
+        cursor = seq;
+        appliedAboveCursor.clear();
+        gapSinceMillis = 0;
+    }
+
+    private void poll(long pollEpoch) {
+        List<StudentDAO.Change> changes;
+        do {
+            if (pollEpoch != epoch) return; // Stopped or restarted while catching up
+            changes = StudentDAO.getChangesSince(cursor, BATCH_SIZE);
+            if (changes.isEmpty()) return;
+
+            long now = System.currentTimeMillis();
+            long next = cursor;
+            boolean blocked = false;
+            // Latest state per student, in first-seen order
+            Map<Integer, StudentDAO.Change> fresh = new LinkedHashMap<>();
+
+            for (StudentDAO.Change change : changes) {
+                if (!blocked) {
+                    if (change.seq() == next + 1) {
+                        next = change.seq();
+                    } else if (gapSinceMillis != 0 && now - gapSinceMillis > GAP_TIMEOUT_MILLIS) {
+                        next = change.seq(); // Gap never filled: skip it
+                        gapSinceMillis = 0;
+                    } else {
+                        blocked = true;
+                    }
+                }
+                if (appliedAboveCursor.add(change.seq())) fresh.put(change.studentId(), change);
+            }
+
+            if (blocked) {
+                if (gapSinceMillis == 0) gapSinceMillis = now;
+            } else {
+                gapSinceMillis = 0;
+            }
+            cursor = next;
+            appliedAboveCursor.headSet(next, true).clear();
+
+            List<StudentDAO.Change> batch = new ArrayList<>(fresh.values());
+            long throughSeq = next;
+            Platform.runLater(() -> applyOnFxThread(batch, throughSeq, pollEpoch));
+        } while (changes.size() == BATCH_SIZE && gapSinceMillis == 0);
+    }
+
+    private void applyOnFxThread(List<StudentDAO.Change> changes, long throughSeq, long deltaEpoch) {
+        if (deltaEpoch != epoch) return; // The roster was reloaded since this was read
+
+        List<Student> added = new ArrayList<>();
+        List<Student> updated = new ArrayList<>();
+        List<Student> removed = new ArrayList<>();
+
+        for (StudentDAO.Change change : changes) {
+            Student existing = byId.get(change.studentId());
+            Student current = change.current();
+
+            if (current == null) {
+                if (existing != null) removed.add(existing);
+            } else if (existing == null) {
+                added.add(current);
+            } else if (!sameValues(existing, current)) {
+                // Keep the row object (and any selection on it), just take the new values
+                existing.copyFrom(current);
+                updated.add(existing);
+            } else {
+                existing.setVersion(current.getVersion()); // e.g. our own save echoed back
+            }
+        }
+
+        apply.accept(new Delta(added, updated, removed, throughSeq));
+    }
+
+    private static boolean sameValues(Student a, Student b) {
+        return Objects.equals(a.getName(), b.getName())
+                && Objects.equals(a.getBirthdate(), b.getBirthdate())
+                && Objects.equals(a.getAddress(), b.getAddress())
+                && Objects.equals(a.getAllergy(), b.getAllergy())
+                && Objects.equals(a.getGender(), b.getGender());
+    }
+}
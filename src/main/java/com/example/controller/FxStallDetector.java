@@ -0,0 +1,160 @@
+package com.example.controller;
+
+import com.example.metrics.Metrics;
+import com.example.metrics.OperationMetrics;
+import javafx.application.Platform;
+
+/**
+ * Watches the JavaFX application thread for stalls. A watchdog thread posts a heartbeat
+ * with Platform.runLater every heartbeatMs; pulses, input events and the heartbeat share
+ * the FX event queue, so the heartbeat's delay is how long the window could not repaint or
+ * react. The delay is published as ui/fxLatency.
+ *
+ * When a heartbeat is still waiting after stallMs, the FX thread's stack is sampled and
+ * logged with the controller handler that was running (see {@link #enter}) and the nearest
+ * application frame, which also names async continuations such as loadStudents' callback.
+ * When the thread catches up, the stall's full length is logged and recorded as ui/stall.
+ *
+ * Settings (-Dkindergarten.stall.<name>=...): enabled (default true), stallMs (500),
+ * heartbeatMs (100).
+ *
+ * Example output:
+ * <pre>
+ * FX thread stalled for 503 ms in handleExportPDF, at StudentController.handleExportPDF
+ *     at java.base/...
+ * FX thread resumed after 1840 ms
+ * </pre>
+ */
+public final class FxStallDetector {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("kindergarten.stall.enabled", "true"));
+    private static final long STALL_NANOS = Long.getLong("kindergarten.stall.stallMs", 500) * 1_000_000;
+    private static final long HEARTBEAT_MS = Math.max(10, Long.getLong("kindergarten.stall.heartbeatMs", 100));
+    // Frames printed per stack sample
+    private static final int MAX_FRAMES = 40;
+
+    private static final OperationMetrics LATENCY = Metrics.operation("ui", "fxLatency");
+    private static final OperationMetrics STALLS = Metrics.operation("ui", "stall");
+
+    // nanoTime the pending heartbeat was posted, 0 when none is pending. Only the watchdog
+    // sets it, only the heartbeat clears it, so at most one is queued at a time.
+    private static volatile long postedAt;
+    // Handler running on the FX thread right now, null between handlers
+    private static volatile OperationMetrics running;
+    // FX thread only: time the running handler has spent waiting in modal dialogs
+    private static long userWaitNanos;
+    private static volatile Thread fxThread;
+
+    // Guarded by the class lock
+    private static Thread watchdog;
+
+    private static final Runnable HEARTBEAT = () -> {
+        long posted = postedAt;
+        postedAt = 0;
+        long delay = System.nanoTime() - posted;
+        LATENCY.time(posted);
+        if (delay >= STALL_NANOS) {
+            STALLS.time(posted);
+            System.err.printf("FX thread resumed after %d ms%n", delay / 1_000_000);
+        }
+    };
+
+    private FxStallDetector() {
+    }
+
+    /** Starts the watchdog. Call on the FX thread, e.g. from Application.start. */
+    public static synchronized void start() {
+        if (!ENABLED || watchdog != null) return;
+        fxThread = Thread.currentThread();
+        watchdog = new Thread(FxStallDetector::watch, "fx-watchdog");
+        watchdog.setDaemon(true);
+        watchdog.start();
+    }
+
+    public static synchronized void stop() {
+        if (watchdog != null) watchdog.interrupt();
+        watchdog = null;
+    }
+
+    // ===== Handler timing =====
+    /**
+     * Marks an event handler as running on the FX thread; pair with {@link #exit} in a
+     * finally block. Returns the start time to pass to exit.
+     */
+    static long enter(OperationMetrics handler) {
+        running = handler;
+        return System.nanoTime();
+    }
+
+    /** Records the handler's time on the FX thread, without any time spent in dialogs. */
+    static void exit(OperationMetrics handler, long startNanos) {
+        running = null;
+        handler.time(startNanos + userWaitNanos);
+        userWaitNanos = 0;
+    }
+
+    /**
+     * Called around a modal dialog (showAndWait, file choosers). Their nested event loop keeps
+     * the window responsive, so the wait is neither a stall nor part of the handler's time.
+     */
+    static long dialogOpened() {
+        return System.nanoTime();
+    }
+
+    static void dialogClosed(long openedNanos) {
+        if (running != null) userWaitNanos += System.nanoTime() - openedNanos;
+    }
+
+    // ===== Watchdog =====
+    private static void watch() {
+        long reported = 0; // postedAt of the heartbeat a stall was last reported for
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long posted = postedAt;
+                if (posted == 0) {
+                    postedAt = System.nanoTime();
+                    Platform.runLater(HEARTBEAT);
+                } else if (posted != reported && System.nanoTime() - posted >= STALL_NANOS) {
+                    reported = posted;
+                    report(System.nanoTime() - posted);
+                }
+                Thread.sleep(HEARTBEAT_MS);
+            }
+        } catch (InterruptedException e) {
+            // Stopped
+        } catch (IllegalStateException e) {
+            // The FX toolkit has exited
+        }
+    }
+
+    private static void report(long stalledNanos) {
+        OperationMetrics handler = running;
+        StackTraceElement[] stack = fxThread.getStackTrace();
+
+        StringBuilder out = new StringBuilder(String.format("FX thread stalled for %d ms in %s, at %s",
+                stalledNanos / 1_000_000, handler != null ? handler.getName() : "no handler", applicationFrame(stack)));
+        for (int i = 0; i < Math.min(stack.length, MAX_FRAMES); i++) {
+            out.append(System.lineSeparator()).append("    at ").append(stack[i]);
+        }
+        if (stack.length > MAX_FRAMES) out.append(System.lineSeparator()).append("    ...");
+        System.err.println(out);
+    }
+
+    // Innermost frame of our own code, e.g. "StudentController.loadStudents (callback)"
+    private static String applicationFrame(StackTraceElement[] stack) {
+        for (StackTraceElement frame : stack) {
+            String className = frame.getClassName();
+            if (!className.startsWith("com.example.") || className.startsWith("com.example.metrics.")) continue;
+
+            String simpleName = className.substring(className.lastIndexOf('.') + 1);
+            String method = frame.getMethodName();
+            if (method.startsWith("lambda$")) {
+                // javac names a lambda lambda$<enclosing method>$<n>
+                int end = method.indexOf('$', 7);
+                method = method.substring(7, end > 0 ? end : method.length()) + " (callback)";
+            }
+            return simpleName + "." + method;
+        }
+        return "JavaFX (no application frame)";
+    }
+}
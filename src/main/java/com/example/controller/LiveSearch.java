@@ -0,0 +1,62 @@
+package com.example.controller;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.util.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Debounced search-as-you-type runner.
+ * Keystrokes restart a short pause; when it elapses the search runs on a background
+ * thread and its result is handed to the FX thread in one call. Each new search
+ * cancels the one in flight, and a generation number guarantees that a slow, older
+ * result can never overwrite a newer one.
+ */
+class LiveSearch {
+
+    private static final Duration DEBOUNCE = Duration.millis(200);
+
+    private final PauseTransition debounce = new PauseTransition(DEBOUNCE);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "live-search");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong generation = new AtomicLong();
+    private Future<?> inFlight;
+
+    // Schedule a search (FX thread). Only the last call within the debounce window runs.
+    <T> void submit(Callable<T> search, Consumer<T> publish) {
+        debounce.setOnFinished(e -> start(search, publish));
+        debounce.playFromStart();
+    }
+
+    // Drop any pending or running search (FX thread)
+    void cancel() {
+        debounce.stop();
+        generation.incrementAndGet();
+        if (inFlight != null) inFlight.cancel(true);
+    }
+
+    private <T> void start(Callable<T> search, Consumer<T> publish) {
+        long myGeneration = generation.incrementAndGet();
+        if (inFlight != null) inFlight.cancel(true);
+
+        inFlight = executor.submit(() -> {
+            try {
+                T result = search.call();
+                if (generation.get() != myGeneration) return; // Superseded while running
+                Platform.runLater(() -> {
+                    if (generation.get() == myGeneration) publish.accept(result);
+                });
+            } catch (Exception e) {
+                if (generation.get() == myGeneration) e.printStackTrace();
+            }
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.controller;
+
+import com.example.database.StudentDAO;
+import com.example.model.Student;
+import javafx.application.Platform;
+import javafx.collections.ObservableList;
+import java.util.List;
+
+/**
+ * Streams the rest of the roster into the table's list one keyset page at a time.
+ * Pages are read on a background thread; while the FX thread appends one page,
+ * the next is already being fetched, so the table never waits on the full SELECT.
+ */
+class PagedStudentLoader {
+
+    private final ObservableList<Student> target;
+    private final Runnable onFinished;
+    private volatile boolean cancelled;
+
+    // onFinished runs on the FX thread once the last page has been appended
+    PagedStudentLoader(ObservableList<Student> target, Runnable onFinished) {
+        this.target = target;
+        this.onFinished = onFinished;
+    }
+
+    // Continue loading after the given id (the last id already in the list)
+    void start(int afterId) {
+        Thread worker = new Thread(() -> loadFrom(afterId), "roster-page-loader");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void cancel() {
+        cancelled = true;
+    }
+
+    private void loadFrom(int afterId) {
+        int lastId = afterId;
+        while (!cancelled) {
+            List<Student> page = StudentDAO.getStudentsPage(lastId, StudentDAO.PAGE_SIZE);
+            if (page.isEmpty()) break;
+
+            lastId = page.get(page.size() - 1).getId();
+            Platform.runLater(() -> {
+                if (!cancelled) target.addAll(page);
+            });
+
+            if (page.size() < StudentDAO.PAGE_SIZE) break; // Last page reached
+        }
+        Platform.runLater(() -> {
+            if (!cancelled) onFinished.run();
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.controller;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records how long each startup phase took and prints the timeline once the roster is
+ * ready (or loading failed). Times are milliseconds since the JVM started; phases may be
+ * marked from any thread, since database work runs alongside the UI setup.
+ *
+ * Example output:
+ * <pre>
+ * Startup timeline (ms since JVM start):
+ *      147   (+147)  main
+ *      402   (+255)  FX toolkit ready
+ *      466    (+64)  first page queried
+ *      581   (+115)  FXML loaded
+ *      ...
+ * </pre>
+ */
+public final class StartupTimeline {
+
+    private record Phase(String name, long atMillis) {}
+
+    private static final long ORIGIN_MILLIS = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElse(System.currentTimeMillis());
+
+    // Guarded by the class lock
+    private static final List<Phase> PHASES = new ArrayList<>();
+    private static boolean reported;
+
+    private StartupTimeline() {
+    }
+
+    /** Records that a phase has just completed. Ignored once the timeline was printed. */
+    public static synchronized void mark(String phase) {
+        if (!reported) PHASES.add(new Phase(phase, System.currentTimeMillis() - ORIGIN_MILLIS));
+    }
+
+    /** Records the final phase and prints the timeline. Only the first call prints. */
+    public static synchronized void finish(String phase) {
+        if (reported) return;
+        mark(phase);
+        reported = true;
+
+        StringBuilder out = new StringBuilder("Startup timeline (ms since JVM start):");
+        long previous = 0;
+        for (Phase p : PHASES) {
+            out.append(String.format("%n  %6d %8s  %s", p.atMillis(), "(+" + (p.atMillis() - previous) + ")", p.name()));
+            previous = p.atMillis();
+        }
+        System.out.println(out);
+    }
+}
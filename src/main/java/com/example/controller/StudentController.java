@@ -1,25 +1,51 @@
 package com.example.controller;
 
+import com.example.database.AsyncStudentDAO;
+import com.example.database.DataAccessException;
+import com.example.database.RosterSnapshot;
 import com.example.database.StudentDAO;
+import com.example.database.StudentImporter;
+import com.example.metrics.Metrics;
+import com.example.metrics.OperationMetrics;
 import com.example.model.Student;
+import com.example.model.StudentSummary;
+import com.example.model.StudentValidator;
+import com.example.report.StudentCsvExporter;
+import com.example.report.StudentPdfExporter;
+import com.example.search.StudentIndex;
+import com.example.search.StudentQuery;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.collections.transformation.SortedList;
+import javafx.concurrent.Task;
+import javafx.animation.Animation;
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.property.ReadOnlyStringWrapper;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.*;
 import javafx.stage.FileChooser;
+import javafx.util.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
-import org.apache.pdfbox.pdmodel.common.PDRectangle;
-import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 
 /**
  * Controller class for managing Kindergarten Student data.
@@ -40,6 +66,7 @@ public class StudentController {
     @FXML private Button btnUpdate;
     @FXML private Button btnDelete;
     @FXML private Button btnReset;
+    @FXML private MenuButton btnBulkActions;
 
     // ===== TableView and Columns =====
     @FXML private TableView<Student> tableStudents;
@@ -62,6 +89,7 @@ public class StudentController {
     @FXML private TextField txtFilterValue;
     @FXML private Button btnApplyFilter;
     @FXML private Button btnClearFilter;
+    @FXML private CheckBox chkLiveSearch;
 
     // ===== Summary Panel =====
     @FXML private Label lblTotalStudents;
@@ -70,8 +98,66 @@ public class StudentController {
     @FXML private Label lblAllergyCount;
     @FXML private Label lblGenderDistribution;
 
+    // ===== Export Controls =====
+    @FXML private Button btnExportPDF;
+    @FXML private Button btnExportCSV;
+    @FXML private Button btnImportCSV;
+    @FXML private ProgressBar progressExport;
+    @FXML private Button btnCancelExport;
+
     // ===== ObservableList for TableView =====
     private ObservableList<Student> studentList;
+    // Filter and sort views over studentList (the table shows sortedStudents)
+    private FilteredList<Student> filteredStudents;
+    private SortedList<Student> sortedStudents;
+    // Attribute indexes backing the filters, kept in step with studentList
+    private final StudentIndex studentIndex = new StudentIndex();
+    // Summary counters, updated per list change
+    private final StudentSummary summary = new StudentSummary();
+    // Orders name search results by match quality while no column sort is active
+    private Comparator<Student> rankComparator;
+    // Debounced, off-thread filtering while typing in txtFilterValue
+    private final LiveSearch liveSearch = new LiveSearch();
+    // Running PDF or CSV export, if any
+    private Task<?> exportTask;
+
+    // Background loader for the pages after the first one
+    private PagedStudentLoader pageLoader;
+    // Bumped by every reload so a slow, older first page is ignored
+    private int loadGeneration;
+    // Applies other terminals' inserts, updates and deletes as they appear in the change log
+    private final ChangeFeedPoller changeFeed = new ChangeFeedPoller(this::applyRemoteChanges);
+
+    // Local copy of the roster shown at the next start
+    private static final Path SNAPSHOT_FILE = RosterSnapshot.defaultPath();
+    // After synced changes, save at most this often
+    private final PauseTransition snapshotDelay = new PauseTransition(Duration.seconds(30));
+    // Database unreachable when a snapshot was shown: ask again after this delay, doubling up to the maximum
+    private static final Duration SYNC_RETRY_FIRST = Duration.seconds(5);
+    private static final Duration SYNC_RETRY_MAX = Duration.minutes(2);
+    private final PauseTransition syncRetry = new PauseTransition();
+    // True once studentList holds the whole roster (not mid-paging)
+    private boolean rosterComplete;
+    // Change log position the roster reflects (-1: unknown or no change log)
+    private long syncedSeq = -1;
+
+    // Add, update, delete and the bulk actions stay disabled while one of their calls is in flight,
+    // so a double click cannot submit the same change twice
+    private int writesInFlight;
+
+    // Copy of the row the form was filled from, values and version as they were then. A save
+    // starts from it, so a row changed since (e.g. by the change feed) is a conflict, not overwritten.
+    private Student formOriginal;
+
+    // Continuations of AsyncStudentDAO calls that touch the UI run here
+    private static final Executor FX_THREAD = Platform::runLater;
+
+    // Time each button handler holds the FX thread (dialogs excluded), see FxStallDetector
+    private static final OperationMetrics ADD = Metrics.operation("handler", "handleAdd");
+    private static final OperationMetrics UPDATE = Metrics.operation("handler", "handleUpdate");
+    private static final OperationMetrics DELETE = Metrics.operation("handler", "handleDelete");
+    private static final OperationMetrics APPLY_FILTER = Metrics.operation("handler", "handleApplyFilter");
+    private static final OperationMetrics EXPORT_PDF = Metrics.operation("handler", "handleExportPDF");
 
     // ===== Initialization =====
     @FXML
@@ -80,29 +166,32 @@ public class StudentController {
         tableStudents.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 
         // Set filter options
-        cmbFilterType.setItems(FXCollections.observableArrayList("Name", "Age", "Allergy", "Gender"));
+        cmbFilterType.setItems(FXCollections.observableArrayList("Name", "Age", "Allergy", "Gender", "Advanced"));
         cmbFilterType.setValue("Name");
 
         // Set gender options
         cmbGender.setItems(FXCollections.observableArrayList("Male", "Female"));
         cmbGender.setValue("Select Gender");
 
-        // Auto-generate ID column based on row index
-        colId.setCellValueFactory(cellData ->
-            new javafx.beans.property.ReadOnlyObjectWrapper<>(tableStudents.getItems().indexOf(cellData.getValue()) + 1)
-        );
-
-        // Refresh table when items change
-        tableStudents.getItems().addListener((javafx.collections.ListChangeListener<Student>) c -> tableStudents.refresh());
+        // Auto-generate ID column from the row's offset in the table (no per-cell lookup)
+        colId.setCellFactory(column -> new TableCell<Student, Number>() {
+            @Override
+            protected void updateItem(Number item, boolean empty) {
+                super.updateItem(item, empty);
+                setText(empty ? null : String.valueOf(getIndex() + 1));
+            }
+        });
 
-        // Bind columns to Student properties
-        colName.setCellValueFactory(data -> data.getValue().nameProperty());
-        colBirth.setCellValueFactory(data -> data.getValue().birthdateProperty());
+        // Cells read the row's compact values through throwaway read-only wrappers, so showing a
+        // row never gives it JavaFX properties that outlive the cell. Edited rows are re-set in
+        // studentList (see replaceInPlace), which re-renders their cells.
+        colName.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getName()));
+        colBirth.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getBirthdate()));
         colAge.setCellValueFactory(data -> new javafx.beans.property.SimpleIntegerProperty(data.getValue().getAge()));
-        colAddress.setCellValueFactory(data -> data.getValue().addressProperty());
+        colAddress.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getAddress()));
 
         // Allergy column: display "None" if empty
-        colAllergy.setCellValueFactory(data -> data.getValue().allergyProperty());
+        colAllergy.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getAllergy()));
         colAllergy.setCellFactory(column -> new TableCell<Student, String>() {
             @Override
             protected void updateItem(String item, boolean empty) {
@@ -117,10 +206,29 @@ public class StudentController {
             }
         });
 
-        colGender.setCellValueFactory(data -> data.getValue().genderProperty());
+        colGender.setCellValueFactory(data -> new ReadOnlyStringWrapper(data.getValue().getGender()));
+
+        // The table shows a filtered, sortable view of the roster so edits can be applied in place
+        studentList = FXCollections.observableArrayList();
+        studentIndex.attach(studentList); // must be attached before the FilteredList listens
+        summary.attach(studentList);
+        changeFeed.attach(studentList);
+        filteredStudents = new FilteredList<>(studentList);
+        sortedStudents = new SortedList<>(filteredStudents);
+        tableStudents.setItems(sortedStudents);
+        // Several rows can be selected for batch delete and the bulk actions
+        tableStudents.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+
+        // A column sort wins; otherwise name search results are listed best match first
+        tableStudents.setSortPolicy(table -> {
+            Comparator<Student> columnSort = table.getComparator();
+            sortedStudents.setComparator(columnSort != null ? columnSort : rankComparator);
+            return true;
+        });
 
-        // Load initial data
-        loadStudents();
+        // Load initial data: the local snapshot at once, the database in the background
+        snapshotDelay.setOnFinished(e -> saveSnapshotInBackground());
+        showSnapshotThenSync();
 
         // Force DatePicker to use dd/MM/yyyy format
         java.time.format.DateTimeFormatter dateFormatter = java.time.format.DateTimeFormatter.ofPattern("dd/MM/yyyy");
@@ -154,71 +262,178 @@ public class StudentController {
 
         // Populate form when a table row is selected
         tableStudents.getSelectionModel().selectedItemProperty().addListener((obs, oldSel, newSel) -> {
-            if (newSel != null) {
-                txtName.setText(newSel.getName());
-                dateBirth.setValue(newSel.getBirthdate());
-                txtAge.setText(String.valueOf(newSel.getAge()));
-                txtAddress.setText(newSel.getAddress());
-                txtAllergy.setText(newSel.getAllergy() == null ? "" : newSel.getAllergy());
-                cmbGender.setValue(newSel.getGender());
-            }
+            if (newSel != null) populateForm(newSel);
         });
 
-        // Update summary panel
-        updateSummary();
+        // Search as you type when live mode is on
+        txtFilterValue.textProperty().addListener((obs, oldText, newText) -> scheduleLiveSearch());
+        cmbFilterType.valueProperty().addListener((obs, oldType, newType) -> scheduleLiveSearch());
+        chkLiveSearch.selectedProperty().addListener((obs, wasLive, live) -> {
+            if (live) scheduleLiveSearch();
+            else liveSearch.cancel();
+        });
+
+        scheduleMidnightRefresh();
     }
 
     // ===== Load students from DAO =====
     private void loadStudents() {
-        studentList = FXCollections.observableArrayList(StudentDAO.getAllStudents());
-        tableStudents.setItems(studentList);
-        updateSummary();
-    }
-
-    // ===== Update summary panel =====
-    private void updateSummary() {
-        if (studentList == null || studentList.isEmpty()) {
-            lblTotalStudents.setText("Total Students: 0");
-            lblAgeGroups.setText("Age Groups: -");
-            lblAllergyCount.setText("Allergies Reported: 0");
-            lblNextBirthdays.setText("Birthdays This Month: 0");
-            return;
+        if (pageLoader != null) pageLoader.cancel();
+        changeFeed.stop();
+        syncRetry.stop();
+        rosterComplete = false;
+        int load = ++loadGeneration;
+
+        // First page and dashboard aggregate are queried concurrently, off the FX thread
+        // (at startup the query is already running, see StartupPrefetch)
+        StartupPrefetch.firstPage(StudentDAO.PAGE_SIZE).whenCompleteAsync((first, error) -> {
+            if (load != loadGeneration) return; // A newer reload has started
+            if (error != null) {
+                StartupTimeline.finish("load failed");
+                showFailure("Failed to load students", error);
+                return;
+            }
+
+            // Show the first page right away, then stream the remaining pages in the background
+            List<Student> firstPage = first.students();
+            studentList.setAll(firstPage);
+            StartupTimeline.mark("first page shown");
+
+            if (firstPage.size() == StudentDAO.PAGE_SIZE) {
+                // Until every page is in, show the dashboard from the aggregate instead of partial counts
+                StudentSummary dbSummary = first.summary();
+                bindSummary(dbSummary.getTotal() > 0 ? dbSummary : summary);
+                pageLoader = new PagedStudentLoader(studentList, () -> {
+                    bindSummary(summary);
+                    rosterLoaded(first.changeSeq());
+                });
+                pageLoader.start(firstPage.get(firstPage.size() - 1).getId());
+            } else {
+                bindSummary(summary);
+                rosterLoaded(first.changeSeq());
+            }
+        }, FX_THREAD);
+    }
+
+    // The whole roster is in: save it locally, then follow other terminals' edits from where it was read
+    private void rosterLoaded(long changeSeq) {
+        StartupTimeline.finish("roster loaded (" + studentList.size() + " students)");
+        rosterComplete = true;
+        syncedSeq = changeSeq;
+        saveSnapshotInBackground();
+        if (changeSeq >= 0) changeFeed.start(changeSeq); // No change log: nothing to follow
+    }
+
+    // A delta from the change feed: one add, one remove and one replace pass over the roster
+    private void applyRemoteChanges(ChangeFeedPoller.Delta delta) {
+        syncedSeq = delta.throughSeq();
+        if (delta.isEmpty()) return;
+
+        removeAll(delta.removed());
+        studentList.addAll(delta.added());
+        replaceInPlace(delta.updated());
+        if (snapshotDelay.getStatus() != Animation.Status.RUNNING) snapshotDelay.play();
+    }
+
+    // ===== Local roster snapshot =====
+    // Show the last saved roster at once, then catch up with the database in the background
+    private void showSnapshotThenSync() {
+        int load = loadGeneration;
+        // The file is decoded off the FX thread, usually while the window is still being built
+        StartupPrefetch.snapshot(SNAPSHOT_FILE).whenCompleteAsync((snapshot, readError) -> {
+            if (load != loadGeneration) return; // A reload has already started
+            if (readError != null) readError.printStackTrace(); // Unreadable snapshot: just load from the database
+            if (snapshot == null) {
+                loadStudents();
+                return;
+            }
+
+            studentList.setAll(snapshot.students());
+            bindSummary(summary);
+            rosterComplete = true;
+            syncedSeq = snapshot.changeSeq(); // What the rows reflect until the change feed moves on
+            StartupTimeline.mark("snapshot shown (" + snapshot.students().size() + " students)");
+
+            syncSnapshot(load, StartupPrefetch.latestChangeSeq(), SYNC_RETRY_FIRST);
+        }, FX_THREAD);
+    }
+
+    // Replay only what changed while the app was closed, if the change log reaches back that far
+    private void syncSnapshot(int load, CompletableFuture<Long> latestSeq, Duration retryDelay) {
+        long since = syncedSeq;
+        latestSeq.whenCompleteAsync((latest, error) -> {
+            if (load != loadGeneration) return; // A reload has already started
+            if (error != null) {
+                // Database unreachable: keep showing the snapshot and try again later
+                System.err.println("Cannot reach the database, retrying in " + retryDelay.toSeconds() + " s: "
+                        + unwrap(error).getMessage());
+                StartupTimeline.finish("database unreachable, snapshot shown");
+                Duration next = retryDelay.multiply(2).lessThan(SYNC_RETRY_MAX) ? retryDelay.multiply(2) : SYNC_RETRY_MAX;
+                syncRetry.setDuration(retryDelay);
+                syncRetry.setOnFinished(e -> syncSnapshot(load, AsyncStudentDAO.getLatestChangeSeq(), next));
+                syncRetry.playFromStart();
+            } else if (since >= 0 && latest >= since) {
+                changeFeed.start(since);
+                StartupTimeline.finish("change feed started");
+            } else {
+                loadStudents(); // No change log, or a different database: full reload
+            }
+        }, FX_THREAD);
+    }
+
+    private void saveSnapshotInBackground() {
+        if (!rosterComplete) return;
+        byte[] data = RosterSnapshot.encode(studentList, syncedSeq);
+        if (data == null) return; // Unsaved edits on screen: keep the previous snapshot
+        Thread writer = new Thread(() -> writeSnapshot(data), "roster-snapshot");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private static void writeSnapshot(byte[] data) {
+        if (data == null) return;
+        try {
+            RosterSnapshot.write(SNAPSHOT_FILE, data);
+        } catch (IOException e) {
+            e.printStackTrace();
         }
+    }
+
+    /** Called when the application exits: stop background work and save the roster for the next start. */
+    public void shutdown() {
+        changeFeed.stop();
+        if (pageLoader != null) pageLoader.cancel();
+        snapshotDelay.stop();
+        syncRetry.stop();
+        if (rosterComplete) writeSnapshot(RosterSnapshot.encode(studentList, syncedSeq));
+    }
 
-        // Total students
-        int total = studentList.size();
-        lblTotalStudents.setText("Total Students: " + total);
-
-        // Gender distribution
-        long maleCount = studentList.stream().filter(s -> "Male".equalsIgnoreCase(s.getGender())).count();
-        long femaleCount = studentList.stream().filter(s -> "Female".equalsIgnoreCase(s.getGender())).count();
-        lblGenderDistribution.setText("Gender: Male: " + maleCount + " | Female: " + femaleCount);
-
-        // Age groups
-        Map<Integer, Long> ageGroups = studentList.stream()
-                .collect(Collectors.groupingBy(Student::getAge, Collectors.counting()));
-        StringBuilder groupText = new StringBuilder("Age Groups: ");
-        ageGroups.forEach((age, count) -> groupText.append(age).append(" yrs: ").append(count).append(" | "));
-        if (!ageGroups.isEmpty()) groupText.setLength(groupText.length() - 3); // remove last "|"
-        lblAgeGroups.setText(groupText.toString());
-
-        // Allergy count
-        long allergyCount = studentList.stream()
-                .filter(s -> s.getAllergy() != null && !s.getAllergy().trim().isEmpty())
-                .count();
-        lblAllergyCount.setText("Allergies Reported: " + allergyCount);
-
-        // Birthdays this month
-        int currentMonth = LocalDate.now().getMonthValue();
-        long birthdayCount = studentList.stream()
-                .filter(s -> s.getBirthdate() != null && s.getBirthdate().getMonthValue() == currentMonth)
-                .count();
-        lblNextBirthdays.setText("Birthdays This Month: " + birthdayCount);
+    // ===== Summary panel =====
+    private void bindSummary(StudentSummary source) {
+        lblTotalStudents.textProperty().bind(source.totalTextProperty());
+        lblGenderDistribution.textProperty().bind(source.genderTextProperty());
+        lblAgeGroups.textProperty().bind(source.ageGroupsTextProperty());
+        lblAllergyCount.textProperty().bind(source.allergyTextProperty());
+        lblNextBirthdays.textProperty().bind(source.birthdaysTextProperty());
+    }
+
+    // Ages and "birthdays this month" depend on the date, so re-render just after midnight
+    private void scheduleMidnightRefresh() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextMidnight = now.toLocalDate().plusDays(1).atStartOfDay();
+        PauseTransition untilMidnight = new PauseTransition(
+                Duration.millis(java.time.Duration.between(now, nextMidnight).toMillis() + 1000));
+        untilMidnight.setOnFinished(e -> {
+            summary.refresh();
+            scheduleMidnightRefresh();
+        });
+        untilMidnight.play();
     }
 
     // ===== Button Handlers =====
     @FXML
     void handleAdd(ActionEvent event) {
+        long start = FxStallDetector.enter(ADD);
         try {
             if (!validateForm()) return;
 
@@ -230,56 +445,346 @@ public class StudentController {
                     cmbGender.getValue()
             );
 
-            if (StudentDAO.addStudent(student)) {
-                loadStudents();
+            whileWriting(AsyncStudentDAO.addStudent(student)).whenCompleteAsync((saved, error) -> {
+                if (error != null) {
+                    showFailure("Failed to add student", error);
+                    return;
+                }
+                // Append just the new row; filter and sort views pick it up on their own
+                if (!changeFeed.contains(saved.getId())) studentList.add(saved);
                 handleReset(null);
                 showAlert("Success", "Student added successfully!");
-            } else {
-                showAlert("Error", "Failed to add student.");
-            }
+            }, FX_THREAD);
 
         } catch (Exception e) {
             showAlert("Error", "Invalid input: " + e.getMessage());
+        } finally {
+            FxStallDetector.exit(ADD, start);
         }
     }
 
     @FXML
     void handleUpdate(ActionEvent event) {
-        Student selected = tableStudents.getSelectionModel().getSelectedItem();
-        if (selected != null) {
-            if (!validateForm()) return;
-
-            selected.setName(txtName.getText());
-            selected.setBirthdate(dateBirth.getValue());
-            selected.setAddress(txtAddress.getText());
-            selected.setAllergy(txtAllergy.getText().isEmpty() ? null : txtAllergy.getText());
-            selected.setGender(cmbGender.getValue());
+        long start = FxStallDetector.enter(UPDATE);
+        try {
+            if (tableStudents.getSelectionModel().getSelectedItems().size() > 1) {
+                showAlert("Warning", "Select a single student to edit, or use the Selected menu for several.");
+                return;
+            }
+            Student selected = tableStudents.getSelectionModel().getSelectedItem();
+            if (selected != null) {
+                if (!validateForm()) return;
+
+                // Edit a copy of the row as the form was filled from it (its version included); the
+                // live row only takes the values once they are saved
+                Student edit = copyOf(formOriginal != null && formOriginal.getId() == selected.getId()
+                        ? formOriginal : selected);
+                edit.setName(txtName.getText());
+                edit.setBirthdate(dateBirth.getValue());
+                edit.setAddress(txtAddress.getText());
+                edit.setAllergy(txtAllergy.getText().isEmpty() ? null : txtAllergy.getText());
+                edit.setGender(cmbGender.getValue());
+                if (!edit.isDirty()) {
+                    showAlert("Information", "Nothing was changed.");
+                    return;
+                }
 
-            if (StudentDAO.updateStudent(selected)) {
-                loadStudents();
-                handleReset(null);
-                showAlert("Success", "Student updated successfully!");
+                whileWriting(AsyncStudentDAO.updateStudent(edit)).whenCompleteAsync((updated, error) -> {
+                    if (error != null) {
+                        Throwable cause = unwrap(error);
+                        if (cause instanceof DataAccessException.NotFound) studentList.remove(selected);
+                        if (cause instanceof DataAccessException.Conflict) reloadStudents(List.of(selected));
+                        showFailure("Failed to update student", error);
+                        return;
+                    }
+                    // Replace the row in place so the filter is re-evaluated for it, then keep it selected
+                    selected.copyFrom(edit);
+                    int index = studentList.indexOf(selected);
+                    if (index >= 0) studentList.set(index, selected);
+                    tableStudents.getSelectionModel().select(selected);
+                    handleReset(null);
+                    showAlert("Success", "Student updated successfully!");
+                }, FX_THREAD);
             } else {
-                showAlert("Error", "Failed to update student.");
+                showAlert("Warning", "No student selected.");
             }
-        } else {
-            showAlert("Warning", "No student selected.");
+        } finally {
+            FxStallDetector.exit(UPDATE, start);
         }
     }
 
     @FXML
     void handleDelete(ActionEvent event) {
-        Student selected = tableStudents.getSelectionModel().getSelectedItem();
-        if (selected != null) {
-            if (StudentDAO.deleteStudent(selected.getId())) {
-                loadStudents();
+        long start = FxStallDetector.enter(DELETE);
+        try {
+            List<Student> selected = new ArrayList<>(tableStudents.getSelectionModel().getSelectedItems());
+            if (selected.isEmpty()) {
+                showAlert("Warning", "No student selected.");
+                return;
+            }
+            if (selected.size() > 1 && !confirm("Delete Students", "Delete the " + selected.size() + " selected students?")) {
+                return;
+            }
+
+            // One DELETE ... WHERE id IN (...) for the whole selection
+            whileWriting(AsyncStudentDAO.deleteStudents(ids(selected))).whenCompleteAsync((deleted, error) -> {
+                if (error != null) {
+                    showFailure("Failed to delete " + (selected.size() == 1 ? "student" : "students"), error);
+                    return;
+                }
+                // Rows not deleted were already gone (deleted on another terminal), so drop them all
+                removeAll(selected);
                 handleReset(null);
-                showAlert("Success", "Student deleted successfully!");
-            } else {
-                showAlert("Error", "Failed to delete student.");
+                if (deleted == 0) {
+                    showAlert("Warning", selected.size() == 1
+                            ? "The student had already been deleted on another terminal."
+                            : "The selected students had already been deleted on another terminal.");
+                } else if (deleted < selected.size()) {
+                    showAlert("Success", deleted + " of " + selected.size() + " students deleted;"
+                            + " the others had already been deleted on another terminal.");
+                } else {
+                    showAlert("Success", selected.size() == 1
+                            ? "Student deleted successfully!"
+                            : selected.size() + " students deleted successfully!");
+                }
+            }, FX_THREAD);
+        } finally {
+            FxStallDetector.exit(DELETE, start);
+        }
+    }
+
+    // ===== Bulk actions on the selection =====
+    @FXML
+    void handleBulkSetAddress(ActionEvent event) {
+        bulkSet(StudentDAO.BulkField.ADDRESS, "Address");
+    }
+
+    @FXML
+    void handleBulkSetAllergy(ActionEvent event) {
+        bulkSet(StudentDAO.BulkField.ALLERGY, "Allergy");
+    }
+
+    // Asks for one value and writes it to every selected student with a single UPDATE
+    private void bulkSet(StudentDAO.BulkField field, String label) {
+        List<Student> selected = new ArrayList<>(tableStudents.getSelectionModel().getSelectedItems());
+        if (selected.isEmpty()) {
+            showAlert("Warning", "No student selected.");
+            return;
+        }
+
+        TextInputDialog dialog = new TextInputDialog();
+        dialog.setTitle("Set " + label);
+        dialog.setHeaderText("New " + label.toLowerCase() + " for " + selected.size() + " selected students"
+                + (field == StudentDAO.BulkField.ALLERGY ? " (leave empty for none)" : ""));
+        String input = dialog.showAndWait().map(String::trim).orElse(null);
+        if (input == null) return;
+
+        String value;
+        if (field == StudentDAO.BulkField.ADDRESS) {
+            String error = StudentValidator.checkAddress(input);
+            if (error != null) {
+                showAlert("Error", error);
+                return;
             }
+            value = input;
         } else {
-            showAlert("Warning", "No student selected.");
+            String error = StudentValidator.checkAllergy(input);
+            if (error != null) {
+                showAlert("Error", error);
+                return;
+            }
+            value = input.isEmpty() ? null : input;
+        }
+
+        whileWriting(AsyncStudentDAO.updateField(ids(selected), field, value)).whenCompleteAsync((updated, error) -> {
+            if (error != null) {
+                showFailure("Failed to update students", error);
+                return;
+            }
+            // Re-read values and versions rather than guessing: the change feed may already have
+            // applied the update, and other terminals may have saved since
+            reloadStudents(selected);
+            showAlert("Success", updated + " students updated successfully!");
+        }, FX_THREAD);
+    }
+
+    // Year-end, step 1: select everyone who has reached MAX_AGE (same exact-age rule as the form)
+    @FXML
+    void handleSelectOldestCohort(ActionEvent event) {
+        if (!rosterComplete) {
+            showAlert("Warning", "The roster is still loading. Please try again in a moment.");
+            return;
+        }
+        handleClearFilter(null); // The whole cohort must be visible to be selected
+
+        LocalDate today = LocalDate.now();
+        TableView.TableViewSelectionModel<Student> selection = tableStudents.getSelectionModel();
+        selection.clearSelection();
+        int selected = 0;
+        for (int i = 0; i < tableStudents.getItems().size(); i++) {
+            Student s = tableStudents.getItems().get(i);
+            if (s.getBirthdate() != null && StudentValidator.ageOn(s.getBirthdate(), today) >= StudentValidator.MAX_AGE) {
+                selection.select(i);
+                selected++;
+            }
+        }
+        showAlert("Oldest Cohort", selected == 0
+                ? "No student has reached age " + StudentValidator.MAX_AGE + "."
+                : selected + " students aged " + StudentValidator.MAX_AGE + " or older are selected."
+                        + " Review the selection, then use Selected > Graduate.");
+    }
+
+    // Year-end, step 2: the selected students leave the roster and are kept as alumni
+    @FXML
+    void handleGraduateSelected(ActionEvent event) {
+        List<Student> selected = new ArrayList<>(tableStudents.getSelectionModel().getSelectedItems());
+        if (selected.isEmpty()) {
+            showAlert("Warning", "No student selected. Use Selected > Select Oldest Cohort to pick the leavers.");
+            return;
+        }
+        int year = LocalDate.now().getYear();
+        if (!confirm("Graduate Students", "Graduate the " + selected.size() + " selected students (class of "
+                + year + ")? They leave the roster but their records are kept.")) {
+            return;
+        }
+
+        whileWriting(AsyncStudentDAO.graduateStudents(ids(selected), year)).whenCompleteAsync((graduated, error) -> {
+            if (error != null) {
+                showFailure("Failed to graduate students", error);
+                return;
+            }
+            // Rows not updated had already graduated or been deleted elsewhere; none is enrolled now
+            removeAll(selected);
+            tableStudents.getSelectionModel().clearSelection();
+            handleReset(null);
+            showAlert("Success", graduated == selected.size()
+                    ? graduated + " students graduated."
+                    : graduated + " of " + selected.size() + " students graduated;"
+                            + " the others had already left the roster on another terminal.");
+        }, FX_THREAD);
+    }
+
+    private static List<Integer> ids(List<Student> students) {
+        List<Integer> ids = new ArrayList<>(students.size());
+        for (Student s : students) ids.add(s.getId());
+        return ids;
+    }
+
+    // Removes the students in one list change, so the index, summary and table update once
+    private void removeAll(List<Student> students) {
+        Set<Student> gone = Collections.newSetFromMap(new IdentityHashMap<>());
+        gone.addAll(students);
+        studentList.removeAll(gone);
+    }
+
+    // Re-sets edited rows in one pass over the list so filter, index and summary see the new values
+    private void replaceInPlace(List<Student> students) {
+        Set<Student> edited = Collections.newSetFromMap(new IdentityHashMap<>());
+        edited.addAll(students);
+        for (int i = 0; i < studentList.size(); i++) {
+            Student s = studentList.get(i);
+            if (edited.contains(s)) studentList.set(i, s);
+        }
+    }
+
+    // Explains a failed database call by its type instead of a raw SQL message
+    private void showFailure(String what, Throwable error) {
+        Throwable cause = unwrap(error);
+        String reason;
+        if (cause instanceof DataAccessException.Unavailable) {
+            reason = "the database is not reachable. Please try again.";
+        } else if (cause instanceof DataAccessException.Conflict) {
+            reason = "the student was changed on another terminal. Their changes have been loaded;"
+                    + " please check and save again.";
+        } else if (cause instanceof DataAccessException.NotFound) {
+            reason = "the student no longer exists.";
+        } else if (cause instanceof DataAccessException.ConstraintViolation) {
+            reason = "the data was rejected by the database.";
+        } else {
+            reason = cause.getMessage();
+        }
+        cause.printStackTrace();
+        showAlert("Error", what + ": " + reason);
+    }
+
+    // Disables the write buttons until the call completes (continuations added later run after that)
+    private <T> CompletableFuture<T> whileWriting(CompletableFuture<T> call) {
+        writesInFlight++;
+        setWriting(true);
+        return call.whenCompleteAsync((result, error) -> setWriting(--writesInFlight > 0), FX_THREAD);
+    }
+
+    private void setWriting(boolean writing) {
+        btnAdd.setDisable(writing);
+        btnUpdate.setDisable(writing);
+        btnDelete.setDisable(writing);
+        btnBulkActions.setDisable(writing);
+    }
+
+    // Replaces the rows' values and versions with what is saved now, e.g. after a conflict or a
+    // bulk update; rows no longer on the roster are removed. A form filled from one is refilled.
+    private void reloadStudents(List<Student> students) {
+        AsyncStudentDAO.findStudents(ids(students)).whenCompleteAsync((current, error) -> {
+            if (error != null) {
+                error.printStackTrace();
+                return;
+            }
+            Map<Integer, Student> byId = new HashMap<>();
+            for (Student s : current) byId.put(s.getId(), s);
+
+            List<Student> reloaded = new ArrayList<>();
+            List<Student> gone = new ArrayList<>();
+            for (Student s : students) {
+                Student now = byId.get(s.getId());
+                if (now == null) {
+                    gone.add(s);
+                } else {
+                    s.copyFrom(now);
+                    reloaded.add(s);
+                }
+            }
+            replaceInPlace(reloaded);
+            removeAll(gone);
+
+            Student shown = tableStudents.getSelectionModel().getSelectedItem();
+            if (shown != null && formOriginal != null && formOriginal.getId() == shown.getId() && reloaded.contains(shown)) {
+                populateForm(shown);
+            }
+        }, FX_THREAD);
+    }
+
+    // Fills the form from the row and remembers the version it was filled from
+    private void populateForm(Student student) {
+        txtName.setText(student.getName());
+        dateBirth.setValue(student.getBirthdate());
+        txtAge.setText(String.valueOf(student.getAge()));
+        txtAddress.setText(student.getAddress());
+        txtAllergy.setText(student.getAllergy() == null ? "" : student.getAllergy());
+        cmbGender.setValue(student.getGender());
+        formOriginal = copyOf(student);
+    }
+
+    private static Student copyOf(Student student) {
+        Student copy = new Student(student.getId(), student.getName(), student.getBirthdate(),
+                student.getAddress(), student.getAllergy(), student.getGender());
+        copy.setVersion(student.getVersion());
+        copy.markClean();
+        return copy;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private boolean confirm(String title, String message) {
+        Alert alert = new Alert(Alert.AlertType.CONFIRMATION, message, ButtonType.OK, ButtonType.CANCEL);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        long opened = FxStallDetector.dialogOpened();
+        try {
+            return alert.showAndWait().filter(ButtonType.OK::equals).isPresent();
+        } finally {
+            FxStallDetector.dialogClosed(opened);
         }
     }
 
@@ -298,6 +803,7 @@ public class StudentController {
     // ===== Reset Form =====
     @FXML
     void handleReset(ActionEvent event) {
+        formOriginal = null;
         txtName.clear();
         dateBirth.setValue(null);
         txtAge.clear();
@@ -319,55 +825,43 @@ public class StudentController {
     private boolean validateForm() {
         boolean valid = true;
 
-        // Name validation
-        if (txtName.getText().trim().isEmpty()) {
-            showError(lblErrorName, "❌ Name is required");
-            valid = false;
-        } else hideError(lblErrorName);
+        // Same rules as the bulk importer (StudentValidator)
+        valid &= check(lblErrorName, StudentValidator.checkName(txtName.getText()));
+        valid &= check(lblErrorBirth, StudentValidator.checkBirthdate(dateBirth.getValue()));
 
-        // ===== Birthdate validation =====
-        LocalDate birthdate = dateBirth.getValue();
-        if (birthdate == null) {
-            showError(lblErrorBirth, "❌ Birth date required");
-            valid = false;
-        } else {
-            // Calculate exact age using Period
-            int age = java.time.Period.between(birthdate, LocalDate.now()).getYears();
-
-            if (age < 4) {
-                showError(lblErrorBirth, "❌ Must be at least 4 years old");
-                valid = false;
-            } else if (age > 6) {
-                showError(lblErrorBirth, "❌ Must not be older than 6 years old");
-                valid = false;
-            } else {
-                hideError(lblErrorBirth);
-            }
-        }
+        String gender = "Select Gender".equals(cmbGender.getValue()) ? null : cmbGender.getValue();
+        valid &= check(lblErrorGender, StudentValidator.checkGender(gender));
+        valid &= check(lblErrorAddress, StudentValidator.checkAddress(txtAddress.getText()));
 
-
-        // Gender validation
-        if (cmbGender.getValue() == null || cmbGender.getValue().equals("Select Gender")) {
-            showError(lblErrorGender, "❌ Gender is required");
-            valid = false;
-        } else hideError(lblErrorGender);
-
-        // Address validation
-        if (txtAddress.getText().trim().isEmpty()) {
-            showError(lblErrorAddress, "❌ Address is required");
+        // The allergy field has no error label of its own
+        String allergyError = StudentValidator.checkAllergy(txtAllergy.getText());
+        if (allergyError != null) {
+            showAlert("Error", allergyError);
             valid = false;
-        } else hideError(lblErrorAddress);
+        }
 
         return valid;
     }
 
+    // Shows or hides the field's error label; returns true when there is no error
+    private boolean check(Label errorLabel, String error) {
+        if (error == null) {
+            hideError(errorLabel);
+            return true;
+        }
+        showError(errorLabel, "❌ " + error);
+        return false;
+    }
+
     // ===== Alert Helper =====
     private void showAlert(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle(title);
         alert.setHeaderText(null);
         alert.setContentText(message);
+        long opened = FxStallDetector.dialogOpened();
         alert.showAndWait();
+        FxStallDetector.dialogClosed(opened);
     }
 
     // ===== Input Error Styling =====
@@ -384,296 +878,265 @@ public class StudentController {
     // ===== Filter Handlers =====
     @FXML
     void handleApplyFilter(ActionEvent event) {
+        long start = FxStallDetector.enter(APPLY_FILTER);
+        try {
+            String type = cmbFilterType.getValue();
+            String value = txtFilterValue.getText().trim();
+
+            if (type == null || value.isEmpty()) {
+                showAlert("Filter Error", "Please select a filter type and enter a value.");
+                return;
+            }
+
+            StudentQuery query;
+            try {
+                query = buildQuery(type, value);
+            } catch (NumberFormatException e) {
+                showAlert("Filter Error", "Please enter a valid number for Age.");
+                return;
+            } catch (IllegalArgumentException e) {
+                showAlert("Filter Error", e.getMessage());
+                return;
+            }
+
+            liveSearch.cancel(); // an explicit Apply wins over a pending live result
+            applyFilter(studentIndex.matcher(query), "Name".equals(type) ? studentIndex.nameRanking(value) : null);
+        } finally {
+            FxStallDetector.exit(APPLY_FILTER, start);
+        }
+    }
+
+    private StudentQuery buildQuery(String type, String value) {
+        return switch (type) {
+            case "Name" -> StudentQuery.name(value);
+            case "Age" -> StudentQuery.age(Integer.parseInt(value));
+            case "Allergy" -> StudentQuery.allergy(value);
+            case "Gender" -> StudentQuery.gender(value);
+            // e.g. "age 5 AND allergy peanut AND female"
+            default -> StudentQuery.parse(value);
+        };
+    }
+
+    // Swap the table's filter (and ranking) in one step; null clears it
+    private void applyFilter(Predicate<Student> matcher, Comparator<Student> ranking) {
+        long start = System.nanoTime();
+        // Filter is a live view, so later adds/updates/deletes stay filtered
+        filteredStudents.setPredicate(matcher);
+        rankComparator = ranking;
+        tableStudents.sort();
+        Metrics.FILTER.addRows(filteredStudents.size());
+        Metrics.FILTER.time(start);
+    }
+
+    // ===== Live search =====
+    private record FilterResult(Predicate<Student> matcher, Comparator<Student> ranking) {}
+
+    private void scheduleLiveSearch() {
+        if (!chkLiveSearch.isSelected()) return;
+
         String type = cmbFilterType.getValue();
         String value = txtFilterValue.getText().trim();
-
         if (type == null || value.isEmpty()) {
-            showAlert("Filter Error", "Please select a filter type and enter a value.");
+            liveSearch.cancel();
+            applyFilter(null, null);
             return;
         }
 
-        ObservableList<Student> filteredList = FXCollections.observableArrayList();
-
-        switch (type) {
-            case "Name" -> studentList.stream()
-                    .filter(s -> s.getName().toLowerCase().contains(value.toLowerCase()))
-                    .forEach(filteredList::add);
-            case "Age" -> {
-                try {
-                    int age = Integer.parseInt(value);
-                    studentList.stream()
-                            .filter(s -> s.getAge() == age)
-                            .forEach(filteredList::add);
-                } catch (NumberFormatException e) {
-                    showAlert("Filter Error", "Please enter a valid number for Age.");
-                    return;
-                }
-            }
-            case "Allergy" -> studentList.stream()
-                    .filter(s -> {
-                        String allergy = (s.getAllergy() == null || s.getAllergy().trim().isEmpty()) ? "None" : s.getAllergy();
-                        return allergy.toLowerCase().contains(value.toLowerCase());
-                    })
-                    .forEach(filteredList::add);
-            case "Gender" -> studentList.stream()
-                    .filter(s -> s.getGender() != null && s.getGender().equalsIgnoreCase(value))
-                    .forEach(filteredList::add);
+        StudentQuery query;
+        try {
+            query = buildQuery(type, value);
+        } catch (IllegalArgumentException e) {
+            return; // Still typing (e.g. "age " without a number yet)
         }
 
-        tableStudents.setItems(filteredList);
+        // Index lookups run on the live-search thread; only the swap happens on the FX thread
+        boolean ranked = "Name".equals(type);
+        liveSearch.submit(
+                () -> new FilterResult(studentIndex.matcher(query), ranked ? studentIndex.nameRanking(value) : null),
+                result -> applyFilter(result.matcher(), result.ranking()));
     }
 
     @FXML
     void handleClearFilter(ActionEvent event) {
         txtFilterValue.clear();
         cmbFilterType.setValue("Name");
-        tableStudents.setItems(studentList);
+        liveSearch.cancel();
+        applyFilter(null, null);
     }
 
     // ===== PDF Export =====
     @FXML
     void handleExportPDF(ActionEvent event) {
-        File file = choosePDFFile();
-        if (file == null) return;
+        long start = FxStallDetector.enter(EXPORT_PDF);
+        try {
+            if (exportTask != null && exportTask.isRunning()) return;
+
+            File file = choosePDFFile();
+            if (file == null) return;
+
+            // Snapshot what the table shows; the export itself runs off the FX thread.
+            // StudentPdfExporter is only referenced from the task, so PDFBox and its fonts
+            // are loaded on the first export, not at startup.
+            List<Student> students = new ArrayList<>(tableStudents.getItems());
+            Task<Void> task = new Task<>() {
+                @Override
+                protected Void call() throws Exception {
+                    new StudentPdfExporter().export(students, file,
+                            (done, total) -> updateProgress(done, total), this::isCancelled);
+                    return null;
+                }
+            };
 
-        try (PDDocument doc = new PDDocument()) {
-            PDPage page = new PDPage(PDRectangle.A4);
-            doc.addPage(page);
+            startExport(task, "PDF exported successfully:\n" + file.getAbsolutePath(), "Failed to export PDF: ");
+        } finally {
+            FxStallDetector.exit(EXPORT_PDF, start);
+        }
+    }
 
-            try (PDPageContentStream content = new PDPageContentStream(doc, page)) {
-                drawPDFTitle(content);
-                float[] colWidths = calculateColumnWidths(new float[]{190, 40, 200, 100, 100}, 500);
-                float yPosition = 730;
+    // ===== CSV Export =====
+    @FXML
+    void handleExportCSV(ActionEvent event) {
+        if (exportTask != null && exportTask.isRunning()) return;
 
-                // Draw table header
-                yPosition = drawTableHeader(content, yPosition, colWidths, new String[]{"Name", "Age", "Allergy", "Birthday", "Gender"});
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Export Full Roster");
+        fileChooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV Files", "*.csv"),
+                new FileChooser.ExtensionFilter("Tab-separated Files", "*.tsv"),
+                new FileChooser.ExtensionFilter("Compressed CSV", "*.csv.gz"));
+        fileChooser.setInitialFileName("students.csv");
+        File file = fileChooser.showSaveDialog(tableStudents.getScene().getWindow());
+        if (file == null) return;
 
-                // Draw table rows
-                yPosition = drawStudentRows(doc, content, yPosition, colWidths, new ArrayList<>(tableStudents.getItems()));
+        // Streams the whole table from the database, not just the rows on screen
+        StudentDAO.StreamCancel stream = new StudentDAO.StreamCancel();
+        Task<Long> task = new Task<>() {
+            @Override
+            protected Long call() throws Exception {
+                int expected = StudentDAO.countAllStudents();
+                return StudentCsvExporter.forFile(file).export(file, rows -> {
+                    updateMessage(rows + " rows written");
+                    updateProgress(rows, Math.max(expected, rows));
+                }, stream);
             }
 
-            doc.save(file);
-            showAlert("Success", "PDF exported successfully:\n" + file.getAbsolutePath());
-
-        } catch (IOException e) {
-            e.printStackTrace();
-            showAlert("Error", "Failed to export PDF: " + e.getMessage());
-        }
+            // Stop the query on the server too; that takes a round trip, so not on the FX thread
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (cancelled) CompletableFuture.runAsync(stream::cancel);
+                return cancelled;
+            }
+        };
+        startExport(task, "Roster exported successfully:\n" + file.getAbsolutePath(), "Failed to export CSV: ");
     }
 
-    // ===== Helper: File chooser =====
-    private File choosePDFFile() {
-        FileChooser fileChooser = new FileChooser();
-        fileChooser.setTitle("Save Student List as PDF");
-        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
-        fileChooser.setInitialFileName("ListOfStudent.pdf");
-        return fileChooser.showSaveDialog(tableStudents.getScene().getWindow());
-    }
-
-    // ===== Helper: Draw PDF title =====
-    private void drawPDFTitle(PDPageContentStream content) throws IOException {
-        content.beginText();
-        content.setFont(PDType1Font.HELVETICA_BOLD, 16);
-        content.newLineAtOffset(200, 770);
-        content.showText("Kindergarten Student List");
-        content.endText();
-    }
-
-    // ===== Helper: Calculate proportional column widths =====
-    private float[] calculateColumnWidths(float[] origWidths, float tableWidth) {
-        float total = 0;
-        for (float w : origWidths) total += w;
-        float[] colWidths = new float[origWidths.length];
-        for (int i = 0; i < origWidths.length; i++) colWidths[i] = origWidths[i] / total * tableWidth;
-        return colWidths;
-    }
-
-    // ===== Helper: Draw table header =====
-    private float drawTableHeader(PDPageContentStream content, float yPosition,
-            float[] colWidths, String[] headers) throws IOException {
-			float rowHeight = 25;
-			float margin = 50;
-			
-			content.setLineWidth(1);
-			content.setFont(PDType1Font.HELVETICA_BOLD, 12);
-			
-			// 🔹 Draw outer rectangle for header row
-			content.addRect(margin, yPosition - rowHeight, 500, rowHeight);
-			content.stroke();
-			
-			float textX = margin;
-			for (int i = 0; i < headers.length; i++) {
-			float colX = textX;
-			float colW = colWidths[i];
-			float textWidth = (PDType1Font.HELVETICA_BOLD.getStringWidth(headers[i]) / 1000) * 12;
-			float centerX = colX + (colW - textWidth) / 2;
-			float textY = yPosition - rowHeight / 2 - 6;
-			
-			content.beginText();
-			content.newLineAtOffset(centerX, textY);
-			content.showText(headers[i]);
-			content.endText();
-			
-			textX += colWidths[i];
-			}
-			
-			// 🔹 Draw vertical column lines
-			float nextX = margin;
-			for (float w : colWidths) {
-			content.moveTo(nextX, yPosition);
-			content.lineTo(nextX, yPosition - rowHeight);
-			content.stroke();
-			nextX += w;
-			}
-			content.moveTo(margin + 500, yPosition);
-			content.lineTo(margin + 500, yPosition - rowHeight);
-			content.stroke();
-			
-			// 🔹 Draw bottom border for header row
-			content.moveTo(margin, yPosition - rowHeight);
-			content.lineTo(margin + 500, yPosition - rowHeight);
-			content.stroke();
-			
-			// Reset font for rows
-			content.setFont(PDType1Font.HELVETICA, 12);
-			
-			return yPosition - rowHeight;
-			}
-
- // ===== Helper: Draw student rows (with proper page breaks) =====
-    private float drawStudentRows(PDDocument doc, PDPageContentStream content,
-                                  float yPosition, float[] colWidths, List<Student> students) throws IOException {
-        float rowHeight = 25;
-        float margin = 50;
-        float bottomMargin = 50; // safe margin at the bottom
-        content.setFont(PDType1Font.HELVETICA, 12);
-
-        for (Student s : students) {
-            float rowTop = yPosition;
-            float maxRowHeight = rowHeight;
-
-            String[] data = {
-                safe(s.getName()),
-                String.valueOf(s.getAge()),
-                (s.getAllergy() == null || s.getAllergy().isEmpty()) ? "-" : s.getAllergy(),
-                (s.getBirthdate() == null) ? "-" : s.getBirthdate().toString(),
-                (s.getGender() == null || s.getGender().isEmpty()) ? "-" : s.getGender()
-            };
+    // ===== CSV Import =====
+    @FXML
+    void handleImportCSV(ActionEvent event) {
+        if (exportTask != null && exportTask.isRunning()) return;
 
-            // Wrap text for each cell
-            List<List<String>> wrappedCells = wrapRowCells(data, colWidths);
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Import Students");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
+        File file = fileChooser.showOpenDialog(tableStudents.getScene().getWindow());
+        if (file == null) return;
 
-            // Compute max row height based on wrapped text
-            for (List<String> lines : wrappedCells) {
-                float cellHeight = lines.size() * 15;
-                if (cellHeight > maxRowHeight) maxRowHeight = cellHeight;
+        File reportFile = new File(file.getParentFile(), file.getName() + ".errors.csv");
+        Task<StudentImporter.Result> task = new Task<>() {
+            @Override
+            protected StudentImporter.Result call() throws Exception {
+                StudentImporter.Result result = new StudentImporter().importFile(file.toPath(), (done, total) -> {
+                    updateMessage(done + " of " + total + " rows");
+                    updateProgress(done, total);
+                }, this::isCancelled);
+                if (!result.errors().isEmpty()) {
+                    StudentImporter.writeErrorReport(result.errors(), reportFile.toPath());
+                }
+                return result;
             }
+        };
 
-            // 🔹 Check if this row fits on the current page
-            if (yPosition - maxRowHeight < bottomMargin) {
-                // Close current page
-                content.close();
-
-                // Create a new page
-                PDPage newPage = new PDPage(PDRectangle.A4);
-                doc.addPage(newPage);
-                content = new PDPageContentStream(doc, newPage);
-
-                // Reset yPosition for new page
-                yPosition = 730;
+        // Rows committed before a cancel are in the database, so show them either way
+        task.setOnCancelled(e -> {
+            showExportProgress(false);
+            loadStudents();
+        });
+        task.setOnSucceeded(e -> {
+            showExportProgress(false);
+            StudentImporter.Result result = task.getValue();
+            List<Student> fresh = new ArrayList<>(result.imported().size());
+            for (Student s : result.imported()) {
+                if (!changeFeed.contains(s.getId())) fresh.add(s); // The change feed may have been first
+            }
+            studentList.addAll(fresh);
 
-                // Redraw the title
-                drawPDFTitle(content);
+            String message = result.imported().size() + " of " + result.rowsRead() + " students imported.";
+            if (!result.errors().isEmpty()) {
+                message += "\n" + result.errors().size() + " rows rejected, see:\n" + reportFile.getAbsolutePath();
+            }
+            showAlert(result.errors().isEmpty() ? "Success" : "Import Finished", message);
+        });
+        runInBackground(task, "Failed to import CSV: ");
+    }
 
-                // Draw the header (this will return yPosition below the header row)
-                yPosition = drawTableHeader(content, yPosition, colWidths,
-                        new String[]{"Name", "Age", "Allergy", "Birthday", "Gender"});
+    // Runs an export task in the background with the progress bar and Cancel button shown
+    private void startExport(Task<?> task, String successMessage, String failurePrefix) {
+        task.setOnSucceeded(e -> {
+            showExportProgress(false);
+            showAlert("Success", successMessage);
+        });
+        runInBackground(task, failurePrefix);
+    }
 
-                // Update rowTop for this row
-                rowTop = yPosition;
-            }
+    // Shared by export and import: failure alert, progress binding and the worker thread
+    private void runInBackground(Task<?> task, String failurePrefix) {
+        task.setOnFailed(e -> {
+            showExportProgress(false);
+            Throwable error = task.getException();
+            error.printStackTrace();
+            showAlert("Error", failurePrefix + error.getMessage());
+        });
+        if (task.getOnCancelled() == null) task.setOnCancelled(e -> showExportProgress(false));
+
+        exportTask = task;
+        progressExport.progressProperty().bind(task.progressProperty());
+        Tooltip status = new Tooltip();
+        status.textProperty().bind(task.messageProperty());
+        progressExport.setTooltip(status);
+        showExportProgress(true);
+
+        Thread worker = new Thread(task, "export");
+        worker.setDaemon(true);
+        worker.start();
+    }
 
-            // Draw row borders and text
-            drawRowBorders(content, yPosition, maxRowHeight, colWidths, margin);
-            drawRowText(content, wrappedCells, colWidths, rowTop, maxRowHeight, margin);
+    @FXML
+    void handleCancelExport(ActionEvent event) {
+        if (exportTask != null) exportTask.cancel();
+    }
 
-            // Move down for the next row
-            yPosition -= maxRowHeight;
-        }
+    private void showExportProgress(boolean running) {
+        progressExport.setVisible(running);
+        progressExport.setManaged(running);
+        btnCancelExport.setVisible(running);
+        btnCancelExport.setManaged(running);
+        btnExportPDF.setDisable(running);
+        btnExportCSV.setDisable(running);
+        btnImportCSV.setDisable(running);
+    }
 
-        content.close(); // close the last page’s content stream
-        return yPosition;
-    }
-
-    // ===== Helper: Wrap row cells =====
-    private List<List<String>> wrapRowCells(String[] data, float[] colWidths) throws IOException {
-        List<List<String>> wrappedCells = new ArrayList<>();
-        for (int i = 0; i < data.length; i++) {
-            String cellText = data[i];
-            float availableWidth = colWidths[i] - 10;
-            List<String> lines = new ArrayList<>();
-            StringBuilder currentLine = new StringBuilder();
-
-            for (String word : cellText.split(" ")) {
-                String testLine = currentLine + (currentLine.length() == 0 ? "" : " ") + word;
-                float textWidth = (PDType1Font.HELVETICA.getStringWidth(testLine) / 1000) * 12;
-                if (textWidth < availableWidth) currentLine = new StringBuilder(testLine);
-                else {
-                    lines.add(currentLine.toString());
-                    currentLine = new StringBuilder(word);
-                }
-            }
-            if (currentLine.length() > 0) lines.add(currentLine.toString());
-            wrappedCells.add(lines);
-        }
-        return wrappedCells;
-    }
-
-    // ===== Helper: Draw row borders =====
-    private void drawRowBorders(PDPageContentStream content, float yPosition, float rowHeight, float[] colWidths, float margin) throws IOException {
-        float rowTop = yPosition;
-
-        content.moveTo(margin, rowTop);
-        content.lineTo(margin + 500, rowTop);
-        content.stroke();
-        content.moveTo(margin, rowTop - rowHeight);
-        content.lineTo(margin + 500, rowTop - rowHeight);
-        content.stroke();
-
-        float colX = margin;
-        for (float w : colWidths) {
-            content.moveTo(colX, rowTop);
-            content.lineTo(colX, rowTop - rowHeight);
-            content.stroke();
-            colX += w;
-        }
-        content.moveTo(margin + 500, rowTop);
-        content.lineTo(margin + 500, rowTop - rowHeight);
-        content.stroke();
-    }
-
-    // ===== Helper: Draw row text =====
-    private void drawRowText(PDPageContentStream content, List<List<String>> wrappedCells, float[] colWidths, float rowTop, float maxRowHeight, float margin) throws IOException {
-        float colX = margin;
-        for (int i = 0; i < wrappedCells.size(); i++) {
-            List<String> lines = wrappedCells.get(i);
-            float totalTextHeight = lines.size() * 15;
-            float startY = rowTop - (maxRowHeight - totalTextHeight) / 2 - 12;
-
-            for (String line : lines) {
-                float textWidth = (PDType1Font.HELVETICA.getStringWidth(line) / 1000) * 12;
-                float textStartX = colX + (colWidths[i] - textWidth) / 2;
-                content.beginText();
-                content.newLineAtOffset(textStartX, startY);
-                content.showText(line);
-                content.endText();
-                startY -= 15;
-            }
-            colX += colWidths[i];
+    // ===== Helper: File chooser =====
+    private File choosePDFFile() {
+        FileChooser fileChooser = new FileChooser();
+        fileChooser.setTitle("Save Student List as PDF");
+        fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("PDF Files", "*.pdf"));
+        fileChooser.setInitialFileName("ListOfStudent.pdf");
+        long opened = FxStallDetector.dialogOpened();
+        try {
+            return fileChooser.showSaveDialog(tableStudents.getScene().getWindow());
+        } finally {
+            FxStallDetector.dialogClosed(opened);
         }
     }
-    // ===== Helper: safely handle null strings =====
-    private String safe(String s) {
-        return (s == null) ? "-" : s;
-    }
 }
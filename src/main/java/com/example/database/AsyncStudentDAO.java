@@ -0,0 +1,171 @@
+package com.example.database;
+
+import com.example.model.Student;
+import com.example.model.StudentSummary;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking front of {@link StudentDAO}.
+ * Every call runs on its own thread (a virtual thread on Java 21+) and returns a
+ * CompletableFuture, so the FX thread never waits on the database and independent
+ * queries can run side by side and be combined. Failures complete the future with a
+ * {@link DataAccessException} subclass instead of being logged and swallowed.
+ *
+ * How many queries actually hit MySQL at once is still bounded by the connection pool.
+ */
+public final class AsyncStudentDAO {
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    private AsyncStudentDAO() {
+    }
+
+    /** A database call that may throw, run on the DAO executor. */
+    @FunctionalInterface
+    private interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * The first roster page and the dashboard aggregate, fetched concurrently, plus the
+     * change log position read just before them (-1 if there is no change log).
+     */
+    public record FirstPage(List<Student> students, StudentSummary summary, long changeSeq) {}
+
+    // ===== READ =====
+    public static CompletableFuture<List<Student>> getAllStudents() {
+        return supply("Loading students", StudentDAO::selectAll);
+    }
+
+    public static CompletableFuture<List<Student>> getStudentsPage(int afterId, int limit) {
+        return supply("Loading students", () -> StudentDAO.selectPage(afterId, limit));
+    }
+
+    /** Completes with the student's current row, or null if it no longer exists. */
+    public static CompletableFuture<Student> findStudent(int id) {
+        return supply("Loading student", () -> StudentDAO.selectById(id));
+    }
+
+    /** Completes with the current rows of those students that still exist (and are enrolled). */
+    public static CompletableFuture<List<Student>> findStudents(List<Integer> ids) {
+        return supply("Loading students", () -> StudentDAO.selectByIds(ids));
+    }
+
+    public static CompletableFuture<Integer> countStudents() {
+        return supply("Counting students", StudentDAO::count);
+    }
+
+    // Allergy is a prefix match, unlike the screen's filter: see StudentDAO.filterStudents
+    public static CompletableFuture<List<Student>> filterStudents(Integer age, String gender, String allergyPrefix) {
+        return supply("Filtering students", () -> StudentDAO.select(age, gender, allergyPrefix));
+    }
+
+    public static CompletableFuture<List<Student>> searchStudents(String keyword) {
+        return supply("Searching students", () -> StudentDAO.searchByName(keyword));
+    }
+
+    public static CompletableFuture<StudentSummary> getSummary() {
+        return supply("Loading summary", StudentDAO::summarize);
+    }
+
+    /**
+     * Runs the first page query and the summary aggregate at the same time.
+     * The change log position is read first, so replaying changes from it misses nothing.
+     */
+    public static CompletableFuture<FirstPage> getFirstPage(int limit) {
+        return getLatestChangeSeq().thenCompose(seq -> getStudentsPage(0, limit)
+                .thenCombine(getSummary(), (students, summary) -> new FirstPage(students, summary, seq)));
+    }
+
+    public static CompletableFuture<Long> getLatestChangeSeq() {
+        return supply("Reading change log", StudentDAO::latestChangeSeq);
+    }
+
+    public static CompletableFuture<List<StudentDAO.Change>> getChangesSince(long afterSeq, int limit) {
+        return supply("Reading change log", () -> StudentDAO.changesSince(afterSeq, limit));
+    }
+
+    // ===== WRITE =====
+    /** Inserts the student; completes with it, now carrying its generated id. */
+    public static CompletableFuture<Student> addStudent(Student student) {
+        return supply("Adding student", () -> StudentDAO.insert(student));
+    }
+
+    public static CompletableFuture<List<Student>> addStudents(List<Student> students) {
+        return supply("Adding students", () -> {
+            StudentDAO.addStudents(students);
+            return students;
+        });
+    }
+
+    /**
+     * Writes the student's changed fields. Completes exceptionally with
+     * {@link DataAccessException.Conflict} if someone else saved the row first, or
+     * {@link DataAccessException.NotFound} if the row is gone.
+     */
+    public static CompletableFuture<Student> updateStudent(Student student) {
+        return supply("Updating student", () -> switch (StudentDAO.update(student)) {
+            case UPDATED, UNCHANGED -> student;
+            case CONFLICT -> throw new DataAccessException.Conflict(
+                    "Student " + student.getId() + " was changed by someone else");
+            case NOT_FOUND -> throw notFound(student.getId());
+        });
+    }
+
+    /** Completes exceptionally with {@link DataAccessException.NotFound} if the row is gone. */
+    public static CompletableFuture<Void> deleteStudent(int id) {
+        return supply("Deleting student", () -> {
+            if (!StudentDAO.delete(id)) throw notFound(id);
+            return null;
+        });
+    }
+
+    /** Completes with the number of rows deleted. */
+    public static CompletableFuture<Integer> deleteStudents(List<Integer> ids) {
+        return supply("Deleting students", () -> StudentDAO.deleteAll(ids));
+    }
+
+    /** Completes with the number of rows updated. */
+    public static CompletableFuture<Integer> updateField(List<Integer> ids, StudentDAO.BulkField field, String value) {
+        return supply("Updating students", () -> StudentDAO.updateAll(ids, field, value));
+    }
+
+    /** Completes with the number of students graduated (kept as alumni, off the roster). */
+    public static CompletableFuture<Integer> graduateStudents(List<Integer> ids, int graduatedYear) {
+        return supply("Graduating students", () -> StudentDAO.graduateAll(ids, graduatedYear));
+    }
+
+    // ===== Plumbing =====
+    private static <T> CompletableFuture<T> supply(String operation, SqlCall<T> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return call.call();
+            } catch (SQLException e) {
+                throw DataAccessException.of(operation, e);
+            }
+        }, EXECUTOR);
+    }
+
+    private static DataAccessException.NotFound notFound(int id) {
+        return new DataAccessException.NotFound("Student " + id + " no longer exists");
+    }
+
+    // Virtual threads where the runtime has them, otherwise daemon platform threads
+    private static ExecutorService createExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger count = new AtomicInteger();
+            return Executors.newCachedThreadPool(r -> {
+                Thread t = new Thread(r, "student-dao-" + count.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+}
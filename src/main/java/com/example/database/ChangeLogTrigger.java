@@ -0,0 +1,36 @@
+package com.example.database;
+
+import org.h2.api.Trigger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * H2 version of the students_after_insert/update/delete triggers in database/students_db.sql:
+ * appends one students_changes row per inserted, updated or deleted student, in the same
+ * transaction. Installed by {@link EmbeddedBackend}.
+ */
+public class ChangeLogTrigger implements Trigger {
+
+    private static final String SQL = "INSERT INTO students_changes (student_id, op) VALUES (?, ?)";
+
+    // I = insert, U = update, D = delete
+    private String op;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName,
+                     boolean before, int type) {
+        op = (type & INSERT) != 0 ? "I" : (type & UPDATE) != 0 ? "U" : "D";
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        // id is the first column of students
+        Object id = (newRow != null ? newRow : oldRow)[0];
+        try (PreparedStatement stmt = conn.prepareStatement(SQL)) {
+            stmt.setObject(1, id);
+            stmt.setString(2, op);
+            stmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,321 @@
+package com.example.database;
+
+import com.example.metrics.ErrorType;
+import com.example.metrics.Metrics;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Small bounded JDBC connection pool used behind {@link DBConnection}.
+ * Connections are validated on borrow, closed after sitting idle too long,
+ * and reported when they stay borrowed past the leak threshold (0 turns leak detection off).
+ * A leak report names the borrowing thread; the borrowing stack is only recorded when
+ * captureBorrowSite is set, since filling in a stack trace on every borrow is not free.
+ * Calling close() on a borrowed connection returns it to the pool.
+ */
+public class ConnectionPool {
+
+    private final String url;
+    private final String user;
+    private final String password;
+
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int validationTimeoutSeconds;
+    private final boolean captureBorrowSite;
+
+    // One permit per connection that may be handed out
+    private final Semaphore permits;
+    // Idle connections, most recently returned first (guarded by itself)
+    private final Deque<PooledConnection> idle = new ArrayDeque<>();
+    private final Set<PooledConnection> active = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    // ===== Statistics =====
+    private final LongAdder borrowCount = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder createdCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder leakCount = new LongAdder();
+
+    public ConnectionPool(String url, String user, String password, int maxSize, long acquireTimeoutMillis,
+                          long idleTimeoutMillis, long leakThresholdMillis, int validationTimeoutSeconds,
+                          boolean captureBorrowSite) {
+        if (maxSize < 1) throw new IllegalArgumentException("maxSize must be at least 1");
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.captureBorrowSite = captureBorrowSite;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "db-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long checkEvery = leakThresholdMillis > 0 ? Math.min(idleTimeoutMillis, leakThresholdMillis) : idleTimeoutMillis;
+        long period = Math.max(1000, checkEvery / 2);
+        housekeeper.scheduleWithFixedDelay(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    // ===== Borrow =====
+    public Connection getConnection() throws SQLException {
+        if (closed) throw new SQLException("Connection pool is closed");
+
+        long waitStart = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                timeoutCount.increment();
+                Metrics.POOL_ACQUIRE.failed(ErrorType.UNAVAILABLE);
+                Metrics.POOL_ACQUIRE.time(waitStart);
+                throw new SQLTransientConnectionException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection (" + active.size() + "/" + maxSize + " in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+        recordWait(System.nanoTime() - waitStart);
+
+        try {
+            PooledConnection pooled = takeValidIdle();
+            if (pooled == null) {
+                pooled = new PooledConnection(DriverManager.getConnection(url, user, password));
+                createdCount.increment();
+            }
+            pooled.borrowedAt = System.currentTimeMillis();
+            pooled.borrower = Thread.currentThread().getName();
+            pooled.borrowSite = captureBorrowSite ? new Throwable("Connection borrowed here") : null;
+            pooled.leakReported = false;
+            active.add(pooled);
+            borrowCount.increment();
+            // Whole acquire: waiting for a permit plus validating or opening the connection
+            Metrics.POOL_ACQUIRE.time(waitStart);
+            return pooled.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            Metrics.POOL_ACQUIRE.failed(e);
+            Metrics.POOL_ACQUIRE.time(waitStart);
+            throw e;
+        }
+    }
+
+    // Pops idle connections until one passes validation
+    private PooledConnection takeValidIdle() {
+        while (true) {
+            PooledConnection candidate;
+            synchronized (idle) {
+                candidate = idle.pollFirst();
+            }
+            if (candidate == null) return null;
+            if (isUsable(candidate)) return candidate;
+            evictedCount.increment();
+            closeQuietly(candidate.physical);
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            return pooled.physical.isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // ===== Return =====
+    private void release(PooledConnection pooled) {
+        active.remove(pooled);
+        pooled.borrowSite = null;
+        try {
+            // Hand the next borrower a clean connection
+            if (!pooled.physical.getAutoCommit()) {
+                pooled.physical.rollback();
+                pooled.physical.setAutoCommit(true);
+            }
+            if (closed) {
+                closeQuietly(pooled.physical);
+            } else {
+                pooled.lastReturnedAt = System.currentTimeMillis();
+                synchronized (idle) {
+                    idle.offerFirst(pooled);
+                }
+            }
+        } catch (SQLException e) {
+            evictedCount.increment();
+            closeQuietly(pooled.physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    // ===== Housekeeping: idle eviction and leak detection =====
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        List<PooledConnection> expired = new ArrayList<>();
+        synchronized (idle) {
+            Iterator<PooledConnection> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledConnection pooled = it.next();
+                if (now - pooled.lastReturnedAt > idleTimeoutMillis) {
+                    it.remove();
+                    expired.add(pooled);
+                }
+            }
+        }
+        for (PooledConnection pooled : expired) {
+            evictedCount.increment();
+            closeQuietly(pooled.physical);
+        }
+
+        if (leakThresholdMillis <= 0) return;
+        for (PooledConnection pooled : active) {
+            if (!pooled.leakReported && now - pooled.borrowedAt > leakThresholdMillis) {
+                pooled.leakReported = true;
+                leakCount.increment();
+                System.err.println("⚠ Possible connection leak: connection held by thread \"" + pooled.borrower
+                        + "\" for " + (now - pooled.borrowedAt) + " ms without being closed");
+                Throwable site = pooled.borrowSite;
+                if (site != null) site.printStackTrace();
+            }
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private static void closeQuietly(Connection conn) {
+        try {
+            conn.close();
+        } catch (SQLException ignored) {
+            // Connection is being discarded anyway
+        }
+    }
+
+    // ===== Statistics =====
+    public PoolStats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long borrows = borrowCount.sum();
+        double avgWaitMillis = borrows == 0 ? 0 : totalWaitNanos.sum() / 1_000_000.0 / borrows;
+        return new PoolStats(active.size(), idleCount, maxSize, borrows, avgWaitMillis,
+                maxWaitNanos.get() / 1_000_000.0, timeoutCount.sum(), createdCount.sum(),
+                evictedCount.sum(), leakCount.sum());
+    }
+
+    /** Point-in-time view of the pool, for sizing it against the number of terminals. */
+    public record PoolStats(int active, int idle, int maxSize, long borrows, double avgWaitMillis,
+                            double maxWaitMillis, long timeouts, long created, long evicted, long leaks) {
+        @Override
+        public String toString() {
+            return String.format("active=%d idle=%d max=%d borrows=%d avgWait=%.2fms maxWait=%.2fms "
+                            + "timeouts=%d created=%d evicted=%d leaks=%d",
+                    active, idle, maxSize, borrows, avgWaitMillis, maxWaitMillis, timeouts, created, evicted, leaks);
+        }
+    }
+
+    // ===== Shutdown =====
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        synchronized (idle) {
+            for (PooledConnection pooled : idle) closeQuietly(pooled.physical);
+            idle.clear();
+        }
+    }
+
+    // ===== Pooled connection bookkeeping =====
+    private final class PooledConnection {
+        final Connection physical;
+        volatile long borrowedAt;
+        volatile long lastReturnedAt;
+        volatile String borrower;
+        volatile Throwable borrowSite;
+        volatile boolean leakReported;
+
+        PooledConnection(Connection physical) {
+            this.physical = physical;
+        }
+
+        // A fresh proxy per borrow, so a stale handle can never close someone else's borrow
+        Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Handle(this));
+        }
+    }
+
+    private final class Handle implements InvocationHandler {
+        private final PooledConnection pooled;
+        private boolean closed;
+
+        Handle(PooledConnection pooled) {
+            this.pooled = pooled;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close" -> {
+                    if (!closed) {
+                        closed = true;
+                        release(pooled);
+                    }
+                    return null;
+                }
+                case "isClosed" -> {
+                    return closed || pooled.physical.isClosed();
+                }
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Pooled[" + pooled.physical + "]";
+                }
+                default -> {
+                    if (closed) throw new SQLException("Connection has already been returned to the pool");
+                    try {
+                        return method.invoke(pooled.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -1,15 +1,59 @@
 package com.example.database;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnection {
-    private static final String URL = "jdbc:mysql://localhost:3306/kindergarden_db";
-    private static final String USER = "zafran";
-    private static final String PASSWORD = "Zafran-160903";
+    // MySQL server or embedded database file, see StorageBackend (-Dkindergarten.db.backend=...)
+    private static final StorageBackend BACKEND = StorageBackend.configured();
 
+    // ===== Pool settings (override with -Dkindergarten.pool.<name>=...) =====
+    private static final int POOL_MAX_SIZE = Integer.getInteger("kindergarten.pool.maxSize", 8);
+    private static final long ACQUIRE_TIMEOUT_MS = Long.getLong("kindergarten.pool.acquireTimeoutMs", 5_000);
+    private static final long IDLE_TIMEOUT_MS = Long.getLong("kindergarten.pool.idleTimeoutMs", 5 * 60_000);
+    private static final long LEAK_THRESHOLD_MS = Long.getLong("kindergarten.pool.leakThresholdMs", 30_000);
+    private static final int VALIDATION_TIMEOUT_S = Integer.getInteger("kindergarten.pool.validationTimeoutS", 2);
+    // Record the stack of every borrow so leak reports show where the connection was taken
+    private static final boolean LEAK_TRACE = Boolean.getBoolean("kindergarten.pool.leakTrace");
+
+    private static final ConnectionPool POOL = new ConnectionPool(BACKEND.url(), BACKEND.user(), BACKEND.password(),
+            POOL_MAX_SIZE, ACQUIRE_TIMEOUT_MS, IDLE_TIMEOUT_MS, LEAK_THRESHOLD_MS, VALIDATION_TIMEOUT_S, LEAK_TRACE);
+
+    // Set once the backend's schema is in place
+    private static volatile boolean prepared;
+
+    /**
+     * Borrows a connection from the shared pool.
+     * Closing it (try-with-resources) hands it back instead of disconnecting.
+     */
     public static Connection getConnection() throws SQLException {
-        return DriverManager.getConnection(URL, USER, PASSWORD);
+        Connection conn = POOL.getConnection();
+        if (!prepared) prepare(conn);
+        return conn;
+    }
+
+    // The first caller creates the schema (if the backend manages one); a failure is retried next time
+    private static synchronized void prepare(Connection conn) throws SQLException {
+        if (prepared) return;
+        try {
+            BACKEND.prepare(conn);
+        } catch (SQLException | RuntimeException e) {
+            conn.close();
+            throw e;
+        }
+        prepared = true;
+    }
+
+    public static StorageBackend getBackend() {
+        return BACKEND;
+    }
+
+    public static ConnectionPool.PoolStats getPoolStats() {
+        return POOL.getStats();
+    }
+
+    // Close pooled connections when the application exits
+    public static void shutdown() {
+        POOL.close();
     }
 }
@@ -0,0 +1,77 @@
+package com.example.database;
+
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * A failed database call, as reported by {@link AsyncStudentDAO}.
+ * The subclasses tell callers what went wrong without inspecting SQL states:
+ * the database could not be reached, a row broke a constraint, someone else saved the row
+ * first, or the row no longer exists.
+ */
+public class DataAccessException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String sqlState;
+
+    public DataAccessException(String message, SQLException cause) {
+        super(message, cause);
+        this.sqlState = cause == null ? null : cause.getSQLState();
+    }
+
+    public String getSqlState() {
+        return sqlState;
+    }
+
+    /** No connection could be obtained or the connection was lost (SQL state class 08, pool timeout). */
+    public static class Unavailable extends DataAccessException {
+        private static final long serialVersionUID = 1L;
+
+        public Unavailable(String message, SQLException cause) {
+            super(message, cause);
+        }
+    }
+
+    /** The statement broke a key, NOT NULL or check constraint (SQL state class 23). */
+    public static class ConstraintViolation extends DataAccessException {
+        private static final long serialVersionUID = 1L;
+
+        public ConstraintViolation(String message, SQLException cause) {
+            super(message, cause);
+        }
+    }
+
+    /** The row was saved by someone else since it was read (its version moved on). */
+    public static class Conflict extends DataAccessException {
+        private static final long serialVersionUID = 1L;
+
+        public Conflict(String message) {
+            super(message, null);
+        }
+    }
+
+    /** An update or delete matched no row, e.g. because someone else removed the student. */
+    public static class NotFound extends DataAccessException {
+        private static final long serialVersionUID = 1L;
+
+        public NotFound(String message) {
+            super(message, null);
+        }
+    }
+
+    // Picks the subclass matching the driver's exception
+    static DataAccessException of(String operation, SQLException e) {
+        String state = e.getSQLState();
+        String message = operation + " failed: " + e.getMessage();
+
+        if (e instanceof SQLTransientConnectionException || (state != null && state.startsWith("08"))) {
+            return new Unavailable(message, e);
+        }
+        if (e instanceof SQLIntegrityConstraintViolationException || (state != null && state.startsWith("23"))) {
+            return new ConstraintViolation(message, e);
+        }
+        return new DataAccessException(message, e);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.database;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * An H2 database file on this machine, for single-site installs without a MySQL server.
+ * Queries run in-process, so there is no network round trip. H2 runs in MySQL mode, so
+ * StudentDAO's SQL is used unchanged.
+ *
+ * The file is -Dkindergarten.db.path (default ~/.kindergarten/kindergarten, H2 adds .mv.db).
+ * AUTO_SERVER lets a second process on the same machine, e.g. BatchReports, open it while
+ * the application is running. The schema mirrors database/students_db.sql and is created on
+ * first use; the change log is filled by {@link ChangeLogTrigger} instead of SQL triggers.
+ */
+public class EmbeddedBackend implements StorageBackend {
+
+    // IGNORECASE: text comparisons ignore case, like the MySQL table's default collation
+    private static final String SETTINGS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;IGNORECASE=TRUE";
+
+    private static final String SCHEMA = """
+            CREATE TABLE IF NOT EXISTS students (
+              id int NOT NULL AUTO_INCREMENT,
+              name varchar(100) NOT NULL,
+              birthdate date NOT NULL,
+              address varchar(255) NOT NULL,
+              allergy varchar(100) DEFAULT NULL,
+              gender varchar(10),
+              birth_month tinyint GENERATED ALWAYS AS (MONTH(birthdate)),
+              version int NOT NULL DEFAULT 1,
+              graduated_year smallint DEFAULT NULL,
+              PRIMARY KEY (id)
+            );
+            ALTER TABLE students ADD COLUMN IF NOT EXISTS graduated_year smallint DEFAULT NULL;
+            CREATE INDEX IF NOT EXISTS idx_students_birthdate ON students (birthdate);
+            CREATE INDEX IF NOT EXISTS idx_students_gender_birthdate ON students (gender, birthdate);
+            CREATE INDEX IF NOT EXISTS idx_students_allergy ON students (allergy);
+            CREATE INDEX IF NOT EXISTS idx_students_birth_month ON students (birth_month);
+            CREATE INDEX IF NOT EXISTS idx_students_graduated_year ON students (graduated_year, id);
+
+            CREATE TABLE IF NOT EXISTS students_changes (
+              seq bigint NOT NULL AUTO_INCREMENT,
+              student_id int NOT NULL,
+              op char(1) NOT NULL,
+              changed_at timestamp(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+              PRIMARY KEY (seq)
+            );
+            CREATE TRIGGER IF NOT EXISTS students_after_insert AFTER INSERT ON students
+              FOR EACH ROW CALL 'com.example.database.ChangeLogTrigger';
+            CREATE TRIGGER IF NOT EXISTS students_after_update AFTER UPDATE ON students
+              FOR EACH ROW CALL 'com.example.database.ChangeLogTrigger';
+            CREATE TRIGGER IF NOT EXISTS students_after_delete AFTER DELETE ON students
+              FOR EACH ROW CALL 'com.example.database.ChangeLogTrigger';
+            """;
+
+    @Override
+    public String name() {
+        return "embedded";
+    }
+
+    @Override
+    public String url() {
+        String configured = System.getProperty("kindergarten.db.url");
+        if (configured != null) return configured;
+        return "jdbc:h2:file:" + defaultPath().toAbsolutePath() + SETTINGS + ";AUTO_SERVER=TRUE";
+    }
+
+    /** URL of a private in-memory database with the same settings, e.g. for benchmarks. */
+    public static String inMemoryUrl(String name) {
+        return "jdbc:h2:mem:" + name + SETTINGS + ";DB_CLOSE_DELAY=-1";
+    }
+
+    private static Path defaultPath() {
+        String configured = System.getProperty("kindergarten.db.path");
+        if (configured != null) return Paths.get(configured);
+        return Paths.get(System.getProperty("user.home"), ".kindergarten", "kindergarten");
+    }
+
+    @Override
+    public String user() {
+        return System.getProperty("kindergarten.db.user", "sa");
+    }
+
+    @Override
+    public String password() {
+        return System.getProperty("kindergarten.db.password", "");
+    }
+
+    @Override
+    public void prepare(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(SCHEMA);
+        }
+    }
+
+    // H2 rejects MySQL's Integer.MIN_VALUE; its default already keeps large results on disk
+    @Override
+    public int streamingFetchSize() {
+        return 0;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.database;
+
+import java.sql.Connection;
+
+/**
+ * The shared MySQL server every terminal connects to. Its schema is managed by hand with
+ * database/students_db.sql and the scripts in database/migrations, so prepare does nothing.
+ */
+public class MySqlBackend implements StorageBackend {
+
+    // rewriteBatchedStatements turns JDBC batches into multi-row INSERTs (bulk import)
+    private static final String DEFAULT_URL = "jdbc:mysql://localhost:3306/kindergarden_db?rewriteBatchedStatements=true";
+
+    @Override
+    public String name() {
+        return "mysql";
+    }
+
+    @Override
+    public String url() {
+        return System.getProperty("kindergarten.db.url", DEFAULT_URL);
+    }
+
+    @Override
+    public String user() {
+        return System.getProperty("kindergarten.db.user", "zafran");
+    }
+
+    @Override
+    public String password() {
+        return System.getProperty("kindergarten.db.password", "Zafran-160903");
+    }
+
+    @Override
+    public void prepare(Connection conn) {
+    }
+
+    // Connector/J's signal to stream rows one by one; any other value buffers the whole result
+    @Override
+    public int streamingFetchSize() {
+        return Integer.MIN_VALUE;
+    }
+}
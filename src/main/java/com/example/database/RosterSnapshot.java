@@ -0,0 +1,163 @@
+package com.example.database;
+
+import com.example.model.Student;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Local binary copy of the roster, so the table can be shown before the database answers.
+ * The file holds every row (with its version) and the change log position it is
+ * consistent with; replaying the change log from there brings it up to date. The summary
+ * panel is rebuilt from the rows, so it needs no space of its own.
+ *
+ * Layout: magic, format, change seq, saved-at millis, row count, then per row
+ * id, version, birthdate (epoch day) and the four texts as length-prefixed UTF-8.
+ * Reading takes the whole file in one read and decodes it from that array; the file is not
+ * mapped, as a mapping stays open until garbage collected and blocks replacing the file
+ * on Windows.
+ */
+public final class RosterSnapshot {
+
+    private static final int MAGIC = 0x4B47534E; // "KGSN"
+    private static final int FORMAT = 1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NULL_TEXT = -1;
+
+    /** A decoded snapshot: the rows and the change log position they include. */
+    public record Contents(List<Student> students, long changeSeq, long savedAtMillis) {}
+
+    private RosterSnapshot() {
+    }
+
+    /**
+     * ~/.kindergarten/roster-&lt;backend&gt;-&lt;hash of the database URL&gt;.snapshot, so each database
+     * has its own, or -Dkindergarten.snapshot=path.
+     */
+    public static Path defaultPath() {
+        String configured = System.getProperty("kindergarten.snapshot");
+        if (configured != null) return Paths.get(configured);
+        StorageBackend backend = DBConnection.getBackend();
+        // Hashed: the URL may carry settings (or credentials) that do not belong in a file name
+        String database = String.format("%08x", backend.url().hashCode());
+        return Paths.get(System.getProperty("user.home"), ".kindergarten",
+                "roster-" + backend.name() + "-" + database + ".snapshot");
+    }
+
+    // ===== Write =====
+    /**
+     * Serialises the rows. Call it where the rows are owned (the FX thread) and hand the
+     * bytes to {@link #write} on any thread. Returns null if a row has unsaved edits: the
+     * snapshot would pass them off as stored at the next start.
+     */
+    public static byte[] encode(List<Student> students, long changeSeq) {
+        for (Student s : students) {
+            if (s.isDirty()) return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + students.size() * 64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT);
+            out.writeLong(changeSeq);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(students.size());
+            for (Student s : students) {
+                out.writeInt(s.getId());
+                out.writeInt(s.getVersion());
+                LocalDate birthdate = s.getBirthdate();
+                out.writeInt(birthdate == null ? NO_DATE : (int) birthdate.toEpochDay());
+                writeText(out, s.getName());
+                writeText(out, s.getAddress());
+                writeText(out, s.getAllergy());
+                writeText(out, s.getGender());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("In-memory write failed", e); // Cannot happen
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Replaces the file atomically, so a crash mid-write leaves the previous snapshot intact. */
+    public static void write(Path file, byte[] data) throws IOException {
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, "roster", ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) channel.write(buffer);
+                channel.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        if (text == null) {
+            out.writeInt(NULL_TEXT);
+            return;
+        }
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    // ===== Read =====
+    /**
+     * Reads and decodes the snapshot. Returns null if there is none or it was written
+     * by another format version.
+     *
+     * @throws IOException if the file cannot be read or is truncated
+     */
+    public static Contents read(Path file) throws IOException {
+        try {
+            ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(file));
+            if (in.remaining() < 28 || in.getInt() != MAGIC || in.getInt() != FORMAT) return null;
+
+            long changeSeq = in.getLong();
+            long savedAt = in.getLong();
+            int count = in.getInt();
+            List<Student> students = new ArrayList<>(count);
+            byte[] scratch = new byte[256];
+
+            for (int i = 0; i < count; i++) {
+                int id = in.getInt();
+                int version = in.getInt();
+                int epochDay = in.getInt();
+                Student student = new Student(id, readText(in, scratch),
+                        epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay),
+                        readText(in, scratch), readText(in, scratch), readText(in, scratch));
+                student.setVersion(version);
+                students.add(student);
+            }
+            return new Contents(students, changeSeq, savedAt);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated snapshot: " + file, e);
+        }
+    }
+
+    private static String readText(ByteBuffer in, byte[] scratch) {
+        int length = in.getInt();
+        if (length == NULL_TEXT) return null;
+        byte[] bytes = length <= scratch.length ? scratch : new byte[length];
+        in.get(bytes, 0, length);
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+}
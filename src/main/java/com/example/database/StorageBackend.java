@@ -0,0 +1,47 @@
+package com.example.database;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * Where the students table lives. StudentDAO's SQL is the same for every backend; a backend
+ * supplies the connection settings and, for databases the application owns, creates the schema.
+ *
+ * Chosen with -Dkindergarten.db.backend=...:
+ * <ul>
+ *   <li>mysql (default): the shared MySQL server, set up from database/students_db.sql</li>
+ *   <li>embedded: an H2 database file on this machine (-Dkindergarten.db.path), created on first use</li>
+ * </ul>
+ * -Dkindergarten.db.url/user/password override the backend's defaults.
+ */
+public interface StorageBackend {
+
+    String name();
+
+    String url();
+
+    String user();
+
+    String password();
+
+    /**
+     * Makes sure the tables, indexes and change log exist. Called once, with the first
+     * pooled connection, before any query runs.
+     */
+    void prepare(Connection conn) throws SQLException;
+
+    /** Fetch size that makes the driver stream a large result instead of buffering all of it. */
+    int streamingFetchSize();
+
+    /** The backend named by kindergarten.db.backend. */
+    static StorageBackend configured() {
+        String name = System.getProperty("kindergarten.db.backend", "mysql");
+        return switch (name.trim().toLowerCase(Locale.ROOT)) {
+            case "mysql" -> new MySqlBackend();
+            case "embedded", "h2" -> new EmbeddedBackend();
+            default -> throw new IllegalArgumentException(
+                    "Unknown kindergarten.db.backend '" + name + "' (expected mysql or embedded)");
+        };
+    }
+}
@@ -1,123 +1,937 @@
 package com.example.database;
 
+import com.example.metrics.ErrorType;
+import com.example.metrics.Metrics;
+import com.example.metrics.OperationMetrics;
 import com.example.model.Student;
+import com.example.model.StudentSummary;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
 
 /**
  * Data Access Object (DAO) for the Student model.
  * Handles all CRUD (Create, Read, Update, Delete) operations
  * and search queries for the 'students' database table.
+ *
+ * The public methods log failures and return null/false/empty so callers on the
+ * FX thread stay simple. Each one delegates to a package-private method that throws
+ * the SQLException instead, which {@link AsyncStudentDAO} turns into typed failures.
  */
 public class StudentDAO {
 
-    // ===== CREATE =====
-    public static boolean addStudent(Student student) {
-        String sql = "INSERT INTO students (name, birthdate, address, allergy, gender) VALUES (?, ?, ?, ?, ?)";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    // Rows fetched per round trip when the roster is paged in
+    public static final int PAGE_SIZE = 500;
+
+    private static final String COLUMNS = "id, name, birthdate, address, allergy, gender, version";
 
-            // Bind values to the SQL query
-            stmt.setString(1, student.getName());
-            stmt.setDate(2, Date.valueOf(student.getBirthdate()));
-            stmt.setString(3, student.getAddress());
-            stmt.setString(4, student.getAllergy());
-            stmt.setString(5, student.getGender()); // Gender field
+    // Graduated students stay in the table as alumni; every roster query reads only the enrolled ones
+    private static final String ENROLLED = "graduated_year IS NULL";
 
-            return stmt.executeUpdate() > 0; // Returns true if at least one row is affected
+    // ===== Metrics: latency, rows and errors of every database call (JMX type=dao) =====
+    private static final OperationMetrics INSERT = Metrics.operation("dao", "insert");
+    private static final OperationMetrics INSERT_BATCH = Metrics.operation("dao", "insertBatch");
+    private static final OperationMetrics SELECT_ALL = Metrics.operation("dao", "selectAll");
+    private static final OperationMetrics SELECT_PAGE = Metrics.operation("dao", "selectPage");
+    private static final OperationMetrics STREAM = Metrics.operation("dao", "stream");
+    private static final OperationMetrics COUNT = Metrics.operation("dao", "count");
+    private static final OperationMetrics FILTER = Metrics.operation("dao", "filter");
+    private static final OperationMetrics LATEST_CHANGE_SEQ = Metrics.operation("dao", "latestChangeSeq");
+    private static final OperationMetrics CHANGES_SINCE = Metrics.operation("dao", "changesSince");
+    private static final OperationMetrics SUMMARIZE = Metrics.operation("dao", "summarize");
+    private static final OperationMetrics UPDATE = Metrics.operation("dao", "update");
+    private static final OperationMetrics SELECT_BY_ID = Metrics.operation("dao", "selectById");
+    private static final OperationMetrics SELECT_BY_IDS = Metrics.operation("dao", "selectByIds");
+    private static final OperationMetrics DELETE = Metrics.operation("dao", "delete");
+    private static final OperationMetrics DELETE_ALL = Metrics.operation("dao", "deleteAll");
+    private static final OperationMetrics UPDATE_ALL = Metrics.operation("dao", "updateAll");
+    private static final OperationMetrics GRADUATE = Metrics.operation("dao", "graduate");
+    private static final OperationMetrics SEARCH = Metrics.operation("dao", "search");
+
+    // ===== CREATE =====
+    /**
+     * Inserts the student and stores the generated key on it.
+     * Returns the same student (now with its id), or null if the insert failed.
+     */
+    public static Student addStudent(Student student) {
+        try {
+            return insert(student);
         } catch (Exception e) {
             e.printStackTrace();
-            return false; // Insertion failed
+            return null; // Insertion failed
+        }
+    }
+
+    static Student insert(Student student) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "INSERT INTO students (name, birthdate, address, allergy, gender) VALUES (?, ?, ?, ?, ?)";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+
+                // Bind values to the SQL query
+                stmt.setString(1, student.getName());
+                stmt.setDate(2, Date.valueOf(student.getBirthdate()));
+                stmt.setString(3, student.getAddress());
+                stmt.setString(4, student.getAllergy());
+                stmt.setString(5, student.getGender()); // Gender field
+
+                if (stmt.executeUpdate() == 0) return null; // Nothing inserted
+
+                try (ResultSet keys = stmt.getGeneratedKeys()) {
+                    if (keys.next()) student.setId(keys.getInt(1));
+                }
+                student.setVersion(1); // Column default for new rows
+                student.markClean();
+                INSERT.addRows(1);
+                return student;
+            }
+        } catch (SQLException | RuntimeException e) {
+            INSERT.failed(e);
+            throw e;
+        } finally {
+            INSERT.time(start);
+        }
+    }
+
+    // ===== CREATE (batch) =====
+    /**
+     * Inserts all students in one transaction as a JDBC batch, which the driver rewrites into
+     * multi-row INSERTs (rewriteBatchedStatements), and stores each generated key on its student.
+     * On failure the whole batch is rolled back and the exception is thrown.
+     */
+    public static void addStudents(List<Student> students) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "INSERT INTO students (name, birthdate, address, allergy, gender) VALUES (?, ?, ?, ?, ?)";
+            try (Connection conn = DBConnection.getConnection()) {
+                conn.setAutoCommit(false);
+                try (PreparedStatement stmt = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Student student : students) {
+                        stmt.setString(1, student.getName());
+                        stmt.setDate(2, Date.valueOf(student.getBirthdate()));
+                        stmt.setString(3, student.getAddress());
+                        stmt.setString(4, student.getAllergy());
+                        stmt.setString(5, student.getGender());
+                        stmt.addBatch();
+                    }
+                    stmt.executeBatch();
+
+                    // Keys come back in insert order
+                    try (ResultSet keys = stmt.getGeneratedKeys()) {
+                        for (int i = 0; i < students.size() && keys.next(); i++) {
+                            Student student = students.get(i);
+                            student.setId(keys.getInt(1));
+                            student.setVersion(1);
+                            student.markClean();
+                        }
+                    }
+                    conn.commit();
+                } catch (SQLException | RuntimeException e) {
+                    conn.rollback();
+                    throw e;
+                } finally {
+                    conn.setAutoCommit(true);
+                }
+            }
+            INSERT_BATCH.addRows(students.size());
+        } catch (SQLException | RuntimeException e) {
+            INSERT_BATCH.failed(e);
+            throw e;
+        } finally {
+            INSERT_BATCH.time(start);
         }
     }
 
     // ===== READ =====
     public static List<Student> getAllStudents() {
-        List<Student> students = new ArrayList<>();
-        String sql = "SELECT * FROM students";
+        try {
+            return selectAll();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    static List<Student> selectAll() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Student> students = new ArrayList<>();
+            String sql = "SELECT " + COLUMNS + " FROM students WHERE " + ENROLLED;
+
+            try (Connection conn = DBConnection.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+
+                // Iterate through the result set and create Student objects
+                while (rs.next()) {
+                    students.add(mapStudent(rs));
+                }
+            }
+            return SELECT_ALL.rows(students);
+        } catch (SQLException | RuntimeException e) {
+            SELECT_ALL.failed(e);
+            throw e;
+        } finally {
+            SELECT_ALL.time(start);
+        }
+    }
+
+    // ===== READ (keyset paging) =====
+    /**
+     * Returns up to {@code limit} students with an id greater than {@code afterId}, ordered by id.
+     * Seeking on the primary key keeps every page an index range scan, however deep the roster goes.
+     * Pass 0 for the first page and the last id of the previous page afterwards.
+     */
+    public static List<Student> getStudentsPage(int afterId, int limit) {
+        try {
+            return selectPage(afterId, limit);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    static List<Student> selectPage(int afterId, int limit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Student> students = new ArrayList<>(limit);
+            String sql = "SELECT " + COLUMNS + " FROM students WHERE " + ENROLLED + " AND id > ? ORDER BY id LIMIT ?";
+
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, afterId);
+                stmt.setInt(2, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        students.add(mapStudent(rs));
+                    }
+                }
+            }
+            return SELECT_PAGE.rows(students);
+        } catch (SQLException | RuntimeException e) {
+            SELECT_PAGE.failed(e);
+            throw e;
+        } finally {
+            SELECT_PAGE.time(start);
+        }
+    }
+
+    // ===== STREAMING READ =====
+    /** Receives rows of a streamed query one at a time; the ResultSet is positioned on the row. */
+    public interface RowHandler {
+        void handle(ResultSet row) throws SQLException;
+    }
+
+    /**
+     * Stops a streamed query from another thread, e.g. the Cancel button of an export.
+     * Cancelling ends the query on the server (for MySQL a KILL QUERY over a second
+     * connection), so call it off the FX thread.
+     */
+    public static final class StreamCancel {
+        private volatile boolean cancelled;
+        // The running query's statement, null before and after it (guarded by this)
+        private Statement statement;
+
+        public void cancel() {
+            Statement running;
+            synchronized (this) {
+                cancelled = true;
+                running = statement;
+            }
+            if (running != null) cancelQuietly(running);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        private synchronized void attach(Statement stmt) {
+            if (cancelled) throw new CancellationException("Streaming cancelled");
+            statement = stmt;
+        }
+
+        private synchronized void detach() {
+            statement = null;
+        }
+    }
+
+    /**
+     * Streams every student row (ordered by id), alumni included, to the handler without building
+     * a list. Rows carry the COLUMNS plus graduated_year (null while enrolled).
+     * Uses a forward-only, read-only cursor with MySQL's row-streaming fetch size, so memory
+     * stays constant however large the table is. Returns the number of rows streamed.
+     *
+     * @throws CancellationException if {@code cancel} is cancelled before the last row
+     */
+    public static long streamStudents(RowHandler handler, StreamCancel cancel) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT " + COLUMNS + ", graduated_year FROM students ORDER BY id";
+            long rows = 0;
+
+            try (Connection conn = DBConnection.getConnection();
+                 Statement stmt = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+                stmt.setFetchSize(DBConnection.getBackend().streamingFetchSize()); // Stream rows instead of buffering
+                cancel.attach(stmt);
+                try (ResultSet rs = stmt.executeQuery(sql)) {
+                    try {
+                        while (rs.next()) {
+                            if (cancel.isCancelled()) throw new CancellationException("Streaming cancelled");
+                            handler.handle(rs);
+                            rows++;
+                        }
+                    } catch (SQLException | RuntimeException e) {
+                        // Stopped early: end the query first, or closing a streaming ResultSet reads every remaining row
+                        cancelQuietly(stmt);
+                        throw e;
+                    }
+                } catch (SQLException e) {
+                    if (!cancel.isCancelled()) throw e;
+                    // The query was cancelled under a waiting next()
+                    CancellationException cancelled = new CancellationException("Streaming cancelled");
+                    cancelled.initCause(e);
+                    throw cancelled;
+                } finally {
+                    cancel.detach();
+                }
+            }
+            STREAM.addRows(rows);
+            return rows;
+        } catch (CancellationException e) {
+            throw e; // Not a database failure
+        } catch (SQLException | RuntimeException e) {
+            STREAM.failed(e);
+            throw e;
+        } finally {
+            STREAM.time(start);
+        }
+    }
+
+    private static void cancelQuietly(Statement stmt) {
+        try {
+            stmt.cancel();
+        } catch (SQLException e) {
+            // Already finished or closed: nothing left to stop
+        }
+    }
+
+    /** Number of enrolled students, 0 if the query fails. */
+    public static int countStudents() {
+        try {
+            return count();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    /** Number of rows including alumni (what the CSV export writes), 0 if the query fails. */
+    public static int countAllStudents() {
+        try {
+            return count(true);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
+    static int count() throws SQLException {
+        return count(false);
+    }
+
+    static int count(boolean withAlumni) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT COUNT(*) FROM students" + (withAlumni ? "" : " WHERE " + ENROLLED);
+            try (Connection conn = DBConnection.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                return rs.next() ? rs.getInt(1) : 0;
+            }
+        } catch (SQLException | RuntimeException e) {
+            COUNT.failed(e);
+            throw e;
+        } finally {
+            COUNT.time(start);
+        }
+    }
+
+    // ===== FILTER (runs in MySQL) =====
+    /**
+     * Returns students matching every given criterion; pass null to skip one.
+     * All predicates are index-friendly: age becomes a birthdate range, gender an equality,
+     * and allergy a prefix match (case-insensitive under the table's collation).
+     *
+     * Note the allergy rule differs from the screen's Allergy filter, which matches anywhere
+     * in the value ("nut" finds "Peanut" there, not here) and lists students without an
+     * allergy under "none". A contains match could not use idx_students_allergy. The screen
+     * filters its loaded roster in memory (StudentIndex), not through this method.
+     */
+    public static List<Student> filterStudents(Integer age, String gender, String allergyPrefix) {
+        try {
+            return select(age, gender, allergyPrefix);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    static List<Student> select(Integer age, String gender, String allergyPrefix) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Student> students = new ArrayList<>();
+            StringBuilder sql = new StringBuilder("SELECT " + COLUMNS + " FROM students WHERE " + ENROLLED);
+            List<Object> params = new ArrayList<>();
+
+            if (age != null) {
+                // Age is "current year - birth year", i.e. born within one calendar year
+                int birthYear = LocalDate.now().getYear() - age;
+                sql.append(" AND birthdate >= ? AND birthdate < ?");
+                params.add(Date.valueOf(LocalDate.of(birthYear, 1, 1)));
+                params.add(Date.valueOf(LocalDate.of(birthYear + 1, 1, 1)));
+            }
+            if (gender != null) {
+                sql.append(" AND gender = ?");
+                params.add(gender.trim());
+            }
+            if (allergyPrefix != null) {
+                sql.append(" AND allergy LIKE ?");
+                params.add(escapeLike(allergyPrefix.trim()) + "%");
+            }
+            sql.append(" ORDER BY id");
+
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+
+                for (int i = 0; i < params.size(); i++) stmt.setObject(i + 1, params.get(i));
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        students.add(mapStudent(rs));
+                    }
+                }
+            }
+            return FILTER.rows(students);
+        } catch (SQLException | RuntimeException e) {
+            FILTER.failed(e);
+            throw e;
+        } finally {
+            FILTER.time(start);
+        }
+    }
+
+    // ===== CHANGE FEED (students_changes, written by triggers) =====
+    /** One change log entry with the row's current values, or null if the row is gone. */
+    public record Change(long seq, int studentId, Student current) {}
+
+    // SQL state for "table does not exist": the 002 migration has not been run
+    private static final String NO_SUCH_TABLE = "42S02";
+
+    /**
+     * Returns the newest sequence number in the change log, 0 if it is empty,
+     * or -1 if the database has no change log (or it cannot be read).
+     */
+    public static long getLatestChangeSeq() {
+        try {
+            return latestChangeSeq();
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1;
+        }
+    }
 
-        try (Connection conn = DBConnection.getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
+    static long latestChangeSeq() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            try (Connection conn = DBConnection.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(seq), 0) FROM students_changes")) {
+                return rs.next() ? rs.getLong(1) : 0;
+            } catch (SQLException e) {
+                if (NO_SUCH_TABLE.equals(e.getSQLState())) return -1;
+                throw e;
+            }
+        } catch (SQLException | RuntimeException e) {
+            LATEST_CHANGE_SEQ.failed(e);
+            throw e;
+        } finally {
+            LATEST_CHANGE_SEQ.time(start);
+        }
+    }
 
-            // Iterate through the result set and create Student objects
-            while (rs.next()) {
-                students.add(new Student(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getDate("birthdate").toLocalDate(),
-                        rs.getString("address"),
-                        rs.getString("allergy"),
-                        rs.getString("gender") // Gender field
-                ));
+    /**
+     * Returns up to {@code limit} changes with a sequence number above {@code afterSeq}, oldest first.
+     * Each change carries the row as it is now, so applying it is idempotent and a burst of
+     * edits to one student costs one row. A primary-key range scan: the cost depends on the
+     * number of changes, not on the roster size. Returns an empty list if the query fails.
+     */
+    public static List<Change> getChangesSince(long afterSeq, int limit) {
+        try {
+            return changesSince(afterSeq, limit);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    static List<Change> changesSince(long afterSeq, int limit) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Change> changes = new ArrayList<>();
+            String sql = "SELECT c.seq, c.student_id, s.id, s.name, s.birthdate, s.address, s.allergy, s.gender, s.version "
+                    // A graduated row reads as gone: it has left the roster every terminal shows
+                    + "FROM students_changes c LEFT JOIN students s ON s.id = c.student_id AND s." + ENROLLED + " "
+                    + "WHERE c.seq > ? ORDER BY c.seq LIMIT ?";
+
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setLong(1, afterSeq);
+                stmt.setInt(2, limit);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        rs.getInt("id");
+                        Student current = rs.wasNull() ? null : mapStudent(rs);
+                        changes.add(new Change(rs.getLong("seq"), rs.getInt("student_id"), current));
+                    }
+                }
             }
+            return CHANGES_SINCE.rows(changes);
+        } catch (SQLException | RuntimeException e) {
+            CHANGES_SINCE.failed(e);
+            throw e;
+        } finally {
+            CHANGES_SINCE.time(start);
+        }
+    }
+
+    // ===== SUMMARY (one GROUP BY round trip) =====
+    /**
+     * Builds the whole summary panel from a single aggregate query, without fetching any rows.
+     * Returns an empty summary if the query fails.
+     */
+    public static StudentSummary getSummary() {
+        try {
+            return summarize();
         } catch (Exception e) {
             e.printStackTrace();
+            StudentSummary empty = new StudentSummary();
+            empty.refresh();
+            return empty;
         }
-        return students;
     }
 
-    // ===== UPDATE =====
-    public static boolean updateStudent(Student student) {
-        String sql = "UPDATE students SET name=?, birthdate=?, address=?, allergy=?, gender=? WHERE id=?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+    static StudentSummary summarize() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            StudentSummary summary = new StudentSummary();
+            String sql = "SELECT gender, YEAR(birthdate) AS birth_year, birth_month, "
+                    + "(allergy IS NOT NULL AND TRIM(allergy) <> '') AS has_allergy, COUNT(*) AS total "
+                    + "FROM students WHERE " + ENROLLED + " GROUP BY gender, birth_year, birth_month, has_allergy";
 
-            // Bind updated values to the query
-            stmt.setString(1, student.getName());
-            stmt.setDate(2, Date.valueOf(student.getBirthdate()));
-            stmt.setString(3, student.getAddress());
-            stmt.setString(4, student.getAllergy());
-            stmt.setString(5, student.getGender()); // Gender field
-            stmt.setInt(6, student.getId()); // Identify row by ID
+            try (Connection conn = DBConnection.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
 
-            return stmt.executeUpdate() > 0; // Returns true if at least one row updated
+                while (rs.next()) {
+                    summary.addGroup(
+                            rs.getString("gender"),
+                            rs.getInt("birth_year"),
+                            rs.getInt("birth_month"),
+                            rs.getBoolean("has_allergy"),
+                            rs.getInt("total"));
+                }
+            }
+            summary.refresh();
+            return summary;
+        } catch (SQLException | RuntimeException e) {
+            SUMMARIZE.failed(e);
+            throw e;
+        } finally {
+            SUMMARIZE.time(start);
+        }
+    }
+
+    // ===== UPDATE (optimistic, changed columns only) =====
+    /** Outcome of {@link #saveStudent}. */
+    public enum UpdateResult {
+        /** The changed columns were written and the version moved on. */
+        UPDATED,
+        /** Nothing had changed, so nothing was written. */
+        UNCHANGED,
+        /** Someone else saved the row since it was read; nothing was written. */
+        CONFLICT,
+        /** The row no longer exists. */
+        NOT_FOUND
+    }
+
+    /**
+     * Writes the student's changed fields to its row.
+     * Returns the updated student, or null if nothing was updated (conflict, missing row, error).
+     */
+    public static Student updateStudent(Student student) {
+        UpdateResult result = saveStudent(student);
+        return result == UpdateResult.UPDATED || result == UpdateResult.UNCHANGED ? student : null;
+    }
+
+    /** Like {@link #updateStudent}, but says why a save did not happen. Returns null on an SQL error. */
+    public static UpdateResult saveStudent(Student student) {
+        try {
+            return update(student);
         } catch (Exception e) {
             e.printStackTrace();
-            return false; // Update failed
+            return null; // Update failed
+        }
+    }
+
+    /**
+     * UPDATE students SET <changed columns>, version = version + 1 WHERE id = ? AND version = ?.
+     * On success the student takes the new version and is marked clean. When no row matches,
+     * a second lookup tells a conflicting save from a deleted row; a student who graduated in
+     * the meantime counts as deleted.
+     */
+    static UpdateResult update(Student student) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            Set<Student.Field> changed = student.getDirtyFields();
+            if (changed.isEmpty()) return UpdateResult.UNCHANGED;
+
+            StringBuilder sql = new StringBuilder("UPDATE students SET ");
+            List<Object> params = new ArrayList<>();
+            for (Student.Field field : changed) {
+                switch (field) {
+                    case NAME -> params.add(student.getName());
+                    case BIRTHDATE -> params.add(student.getBirthdate() == null ? null : Date.valueOf(student.getBirthdate()));
+                    case ADDRESS -> params.add(student.getAddress());
+                    case ALLERGY -> params.add(student.getAllergy());
+                    case GENDER -> params.add(student.getGender());
+                }
+                sql.append(field.name().toLowerCase(Locale.ROOT)).append("=?, ");
+            }
+            sql.append("version = version + 1 WHERE id=? AND version=? AND " + ENROLLED);
+
+            try (Connection conn = DBConnection.getConnection()) {
+                try (PreparedStatement stmt = conn.prepareStatement(sql.toString())) {
+                    int index = 1;
+                    for (Object param : params) stmt.setObject(index++, param);
+                    stmt.setInt(index++, student.getId()); // Identify row by ID
+                    stmt.setInt(index, student.getVersion()); // ...as it was when read
+
+                    if (stmt.executeUpdate() > 0) {
+                        student.setVersion(student.getVersion() + 1);
+                        student.markClean();
+                        UPDATE.addRows(1);
+                        return UpdateResult.UPDATED;
+                    }
+                }
+
+                // Nothing matched: was the row changed by someone else, or deleted?
+                try (PreparedStatement stmt = conn.prepareStatement("SELECT 1 FROM students WHERE id=? AND " + ENROLLED)) {
+                    stmt.setInt(1, student.getId());
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        UpdateResult result = rs.next() ? UpdateResult.CONFLICT : UpdateResult.NOT_FOUND;
+                        UPDATE.failed(result == UpdateResult.CONFLICT ? ErrorType.CONFLICT : ErrorType.NOT_FOUND);
+                        return result;
+                    }
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            UPDATE.failed(e);
+            throw e;
+        } finally {
+            UPDATE.time(start);
+        }
+    }
+
+    // ===== READ (one row) =====
+    /** Returns the student's current row, or null if it does not exist, has graduated or the query fails. */
+    public static Student findStudent(int id) {
+        try {
+            return selectById(id);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    static Student selectById(int id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "SELECT " + COLUMNS + " FROM students WHERE id=? AND " + ENROLLED;
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setInt(1, id);
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (!rs.next()) return null;
+                    SELECT_BY_ID.addRows(1);
+                    return mapStudent(rs);
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            SELECT_BY_ID.failed(e);
+            throw e;
+        } finally {
+            SELECT_BY_ID.time(start);
+        }
+    }
+
+    /**
+     * Current rows of the given students (enrolled ones only), values and version from one read,
+     * e.g. to pick up the versions a bulk update gave them.
+     */
+    static List<Student> selectByIds(List<Integer> ids) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Student> students = new ArrayList<>(ids.size());
+            try (Connection conn = DBConnection.getConnection()) {
+                for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+                    List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST, ids.size()));
+                    String sql = "SELECT " + COLUMNS + " FROM students WHERE " + ENROLLED + " AND id IN ("
+                            + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+                    try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                        int index = 1;
+                        for (int id : chunk) stmt.setInt(index++, id);
+                        try (ResultSet rs = stmt.executeQuery()) {
+                            while (rs.next()) students.add(mapStudent(rs));
+                        }
+                    }
+                }
+            }
+            return SELECT_BY_IDS.rows(students);
+        } catch (SQLException | RuntimeException e) {
+            SELECT_BY_IDS.failed(e);
+            throw e;
+        } finally {
+            SELECT_BY_IDS.time(start);
         }
     }
 
     // ===== DELETE =====
     public static boolean deleteStudent(int id) {
-        String sql = "DELETE FROM students WHERE id=?";
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-
-            stmt.setInt(1, id); // Bind ID to query
-            return stmt.executeUpdate() > 0; // Returns true if a row was deleted
+        try {
+            return delete(id);
         } catch (Exception e) {
             e.printStackTrace();
             return false; // Deletion failed
         }
     }
 
-    // ===== SEARCH =====
-    public static List<Student> searchStudents(String keyword) {
-        List<Student> students = new ArrayList<>();
-        String sql = "SELECT * FROM students WHERE name LIKE ?";
+    static boolean delete(int id) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "DELETE FROM students WHERE id=?";
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-        try (Connection conn = DBConnection.getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
+                stmt.setInt(1, id); // Bind ID to query
+                if (stmt.executeUpdate() == 0) {
+                    DELETE.failed(ErrorType.NOT_FOUND);
+                    return false; // No row was deleted
+                }
+            }
+            DELETE.addRows(1);
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            DELETE.failed(e);
+            throw e;
+        } finally {
+            DELETE.time(start);
+        }
+    }
+
+    // ===== BATCH UPDATE / DELETE (multi-select) =====
+    /** Columns that can be set on many students at once. */
+    public enum BulkField {
+        ADDRESS("address"), ALLERGY("allergy");
+
+        private final String column;
+
+        BulkField(String column) {
+            this.column = column;
+        }
+    }
+
+    // Ids bound per IN (...) list; larger selections are split, still inside one transaction
+    private static final int MAX_IN_LIST = 1000;
+
+    /**
+     * Deletes all the given students with DELETE ... WHERE id IN (...) in one transaction.
+     * Returns the number of rows deleted, or -1 if the delete failed (nothing is deleted then).
+     */
+    public static int deleteStudents(List<Integer> ids) {
+        try {
+            return deleteAll(ids);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1; // Deletion failed
+        }
+    }
+
+    /**
+     * Sets one column to the same value on all the given students in one transaction.
+     * Graduated students are left alone. Returns the number of rows updated, or -1 if the
+     * update failed (nothing is changed then).
+     */
+    public static int updateField(List<Integer> ids, BulkField field, String value) {
+        try {
+            return updateAll(ids, field, value);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1; // Update failed
+        }
+    }
+
+    static int deleteAll(List<Integer> ids) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            int deleted = executeForIds("DELETE FROM students WHERE id IN ", List.of(), ids);
+            DELETE_ALL.addRows(deleted);
+            return deleted;
+        } catch (SQLException | RuntimeException e) {
+            DELETE_ALL.failed(e);
+            throw e;
+        } finally {
+            DELETE_ALL.time(start);
+        }
+    }
+
+    static int updateAll(List<Integer> ids, BulkField field, String value) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "UPDATE students SET " + field.column + "=?, version = version + 1 WHERE " + ENROLLED + " AND id IN ";
+            int updated = executeForIds(sql, Collections.singletonList(value), ids);
+            UPDATE_ALL.addRows(updated);
+            return updated;
+        } catch (SQLException | RuntimeException e) {
+            UPDATE_ALL.failed(e);
+            throw e;
+        } finally {
+            UPDATE_ALL.time(start);
+        }
+    }
 
-            stmt.setString(1, "%" + keyword + "%"); // Use LIKE for partial matching
-            ResultSet rs = stmt.executeQuery();
+    /**
+     * Graduates the given students: sets graduated_year on their rows (bumping the version) in
+     * one transaction. The rows are kept as alumni and drop out of every roster query, the CSV
+     * export aside. Students who already graduated are left alone. Returns the number of
+     * students graduated, or -1 on failure.
+     */
+    public static int graduateStudents(List<Integer> ids, int graduatedYear) {
+        try {
+            return graduateAll(ids, graduatedYear);
+        } catch (Exception e) {
+            e.printStackTrace();
+            return -1; // Update failed
+        }
+    }
+
+    static int graduateAll(List<Integer> ids, int graduatedYear) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            String sql = "UPDATE students SET graduated_year=?, version = version + 1 WHERE " + ENROLLED + " AND id IN ";
+            int graduated = executeForIds(sql, List.of(graduatedYear), ids);
+            GRADUATE.addRows(graduated);
+            return graduated;
+        } catch (SQLException | RuntimeException e) {
+            GRADUATE.failed(e);
+            throw e;
+        } finally {
+            GRADUATE.time(start);
+        }
+    }
+
+    // Runs "<sqlPrefix>(?, ?, ...)" over the ids in IN-list chunks, all in one transaction
+    private static int executeForIds(String sqlPrefix, List<Object> leadingParams, List<Integer> ids) throws SQLException {
+        if (ids.isEmpty()) return 0;
+
+        try (Connection conn = DBConnection.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                int affected = 0;
+                for (int from = 0; from < ids.size(); from += MAX_IN_LIST) {
+                    List<Integer> chunk = ids.subList(from, Math.min(from + MAX_IN_LIST, ids.size()));
+                    String placeholders = "(" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
 
-            // Build student list from results
-            while (rs.next()) {
-                students.add(new Student(
-                        rs.getInt("id"),
-                        rs.getString("name"),
-                        rs.getDate("birthdate").toLocalDate(),
-                        rs.getString("address"),
-                        rs.getString("allergy"),
-                        rs.getString("gender") // Gender field
-                ));
+                    try (PreparedStatement stmt = conn.prepareStatement(sqlPrefix + placeholders)) {
+                        int index = 1;
+                        for (Object param : leadingParams) stmt.setObject(index++, param);
+                        for (int id : chunk) stmt.setInt(index++, id);
+                        affected += stmt.executeUpdate();
+                    }
+                }
+                conn.commit();
+                return affected;
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
             }
+        }
+    }
+
+    // ===== SEARCH =====
+    public static List<Student> searchStudents(String keyword) {
+        try {
+            return searchByName(keyword);
         } catch (Exception e) {
             e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    static List<Student> searchByName(String keyword) throws SQLException {
+        long start = System.nanoTime();
+        try {
+            List<Student> students = new ArrayList<>();
+            String sql = "SELECT " + COLUMNS + " FROM students WHERE " + ENROLLED + " AND name LIKE ?";
+
+            try (Connection conn = DBConnection.getConnection();
+                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+                stmt.setString(1, "%" + escapeLike(keyword == null ? "" : keyword.trim()) + "%"); // Use LIKE for partial matching
+                try (ResultSet rs = stmt.executeQuery()) {
+                    // Build student list from results
+                    while (rs.next()) {
+                        students.add(mapStudent(rs));
+                    }
+                }
+            }
+            return SEARCH.rows(students);
+        } catch (SQLException | RuntimeException e) {
+            SEARCH.failed(e);
+            throw e;
+        } finally {
+            SEARCH.time(start);
         }
-        return students;
+    }
+
+    // Escape LIKE wildcards in user input
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    // ===== Row mapping =====
+    // Package-private so the benchmarks module can time it in isolation
+    static Student mapStudent(ResultSet rs) throws SQLException {
+        Student student = new Student(
+                rs.getInt("id"),
+                rs.getString("name"),
+                rs.getDate("birthdate").toLocalDate(),
+                rs.getString("address"),
+                rs.getString("allergy"),
+                rs.getString("gender") // Gender field
+        );
+        student.setVersion(rs.getInt("version"));
+        return student;
     }
 }
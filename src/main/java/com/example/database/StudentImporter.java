@@ -0,0 +1,204 @@
+package com.example.database;
+
+import com.example.model.Student;
+import com.example.model.StudentValidator;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Bulk import of new intakes from a CSV spreadsheet export.
+ * Rows are parsed and checked against the same rules as the entry form in parallel;
+ * valid rows are then inserted in batched chunks, one transaction per chunk.
+ * Every rejected row is reported with its line number and reason.
+ *
+ * Expected header (any order, case-insensitive): name, birthdate, address, allergy, gender.
+ * Dates may be yyyy-MM-dd or dd/MM/yyyy. Quoted fields may not span lines.
+ */
+public class StudentImporter {
+
+    public static final int CHUNK_SIZE = 1000;
+
+    private static final DateTimeFormatter FORM_DATE = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+    private static final String[] REQUIRED_COLUMNS = {"name", "birthdate", "address", "gender"};
+
+    public record RowError(int line, String message) {}
+
+    public record Result(List<Student> imported, List<RowError> errors, int rowsRead) {}
+
+    /** Receives the number of data rows handled (inserted or rejected) so far. */
+    public interface ProgressListener {
+        void onProgress(int done, int total);
+    }
+
+    // One parsed line: either a student or the reason it was rejected
+    private record ParsedRow(int line, Student student, String error) {}
+
+    // ===== Import =====
+    /**
+     * Imports the file. Chunks already committed stay in the database if the import is
+     * cancelled or a later chunk fails; the result lists exactly what was inserted.
+     *
+     * @throws IOException if the file cannot be read or lacks a required column
+     */
+    public Result importFile(Path file, ProgressListener progress, BooleanSupplier cancelled) throws IOException {
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        if (lines.isEmpty()) return new Result(List.of(), List.of(), 0);
+
+        Map<String, Integer> columns = readHeader(lines.get(0));
+
+        // Parse and validate every row in parallel; results keep file order
+        List<ParsedRow> parsed = IntStream.range(1, lines.size())
+                .parallel()
+                .filter(i -> !lines.get(i).isBlank())
+                .mapToObj(i -> parseRow(i + 1, lines.get(i), columns))
+                .collect(Collectors.toList());
+
+        List<RowError> errors = new ArrayList<>();
+        List<Student> valid = new ArrayList<>(parsed.size());
+        for (ParsedRow row : parsed) {
+            if (row.error() != null) errors.add(new RowError(row.line(), row.error()));
+            else valid.add(row.student());
+        }
+
+        // Insert valid rows chunk by chunk
+        List<Student> imported = new ArrayList<>(valid.size());
+        List<Integer> validLines = parsed.stream().filter(r -> r.error() == null).map(ParsedRow::line).toList();
+        int done = errors.size();
+        progress.onProgress(done, parsed.size());
+
+        for (int from = 0; from < valid.size(); from += CHUNK_SIZE) {
+            int to = Math.min(from + CHUNK_SIZE, valid.size());
+            if (cancelled.getAsBoolean()) {
+                for (int i = from; i < valid.size(); i++) errors.add(new RowError(validLines.get(i), "Import cancelled"));
+                break;
+            }
+
+            List<Student> chunk = valid.subList(from, to);
+            try {
+                StudentDAO.addStudents(chunk);
+                imported.addAll(chunk);
+            } catch (SQLException e) {
+                // The chunk was rolled back: report each of its rows
+                for (int i = from; i < to; i++) {
+                    errors.add(new RowError(validLines.get(i), "Database error: " + e.getMessage()));
+                }
+            }
+            done += chunk.size();
+            progress.onProgress(done, parsed.size());
+        }
+
+        errors.sort((a, b) -> Integer.compare(a.line(), b.line()));
+        return new Result(imported, errors, parsed.size());
+    }
+
+    /** Writes the rejected rows as "line,error" CSV. */
+    public static void writeErrorReport(List<RowError> errors, Path reportFile) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(reportFile, StandardCharsets.UTF_8)) {
+            out.write("line,error");
+            out.newLine();
+            for (RowError error : errors) {
+                out.write(error.line() + ",\"" + error.message().replace("\"", "\"\"") + "\"");
+                out.newLine();
+            }
+        }
+    }
+
+    // ===== Parsing =====
+    private static Map<String, Integer> readHeader(String headerLine) throws IOException {
+        // Spreadsheet exports often start with a UTF-8 byte order mark
+        List<String> names = splitCsv(headerLine.replace("\uFEFF", ""));
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) throw new IOException("Missing required column: " + required);
+        }
+        return columns;
+    }
+
+    private static ParsedRow parseRow(int line, String text, Map<String, Integer> columns) {
+        List<String> fields = splitCsv(text);
+
+        LocalDate birthdate;
+        String rawDate = field(fields, columns, "birthdate");
+        try {
+            birthdate = parseDate(rawDate);
+        } catch (DateTimeParseException e) {
+            return new ParsedRow(line, null, "Invalid birth date: \"" + rawDate + "\"");
+        }
+
+        String gender = field(fields, columns, "gender");
+        if (gender != null && !gender.isEmpty()) {
+            gender = Character.toUpperCase(gender.charAt(0)) + gender.substring(1).toLowerCase(Locale.ROOT);
+        }
+        String allergy = field(fields, columns, "allergy");
+
+        Student student = new Student(
+                field(fields, columns, "name"),
+                birthdate,
+                field(fields, columns, "address"),
+                (allergy == null || allergy.isEmpty()) ? null : allergy,
+                gender);
+
+        List<String> problems = StudentValidator.validate(student);
+        return problems.isEmpty()
+                ? new ParsedRow(line, student, null)
+                : new ParsedRow(line, null, String.join("; ", problems));
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) return null;
+        return fields.get(index).trim();
+    }
+
+    private static LocalDate parseDate(String text) {
+        if (text == null || text.isEmpty()) return null;
+        return text.contains("/") ? LocalDate.parse(text, FORM_DATE) : LocalDate.parse(text);
+    }
+
+    // Splits one CSV line, honouring double quotes and "" escapes
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
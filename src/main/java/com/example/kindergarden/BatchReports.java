@@ -0,0 +1,159 @@
+package com.example.kindergarden;
+
+import com.example.database.AsyncStudentDAO;
+import com.example.database.DBConnection;
+import com.example.model.Student;
+import com.example.report.StudentPdfExporter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless generator for the per-term PDF rosters.
+ * Reads the roster once, splits it into groups (per age, per allergy for the kitchen,
+ * per gender and per gender/age class) and renders one PDF per group in parallel.
+ * Every worker builds its own document through StudentPdfExporter.
+ *
+ * Usage: BatchReports [outputDir] [parallelism]
+ * (parallelism defaults to the number of processors)
+ * Exits with status 1 if the roster cannot be read or any report could not be written.
+ */
+public class BatchReports {
+
+    private record Report(String fileName, String title, List<Student> students) {}
+
+    private static final String USAGE = "Usage: BatchReports [outputDir] [parallelism]";
+
+    public static void main(String[] args) {
+        File outputDir = new File(args.length > 0 ? args[0] : "reports");
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        if (args.length > 1) {
+            try {
+                parallelism = Integer.parseInt(args[1].trim());
+            } catch (NumberFormatException e) {
+                parallelism = 0;
+            }
+            // ForkJoinPool's own upper limit
+            if (parallelism < 1 || parallelism > 0x7fff) {
+                System.err.println("❌ parallelism must be a whole number from 1 to 32767, got: " + args[1]);
+                System.err.println(USAGE);
+                System.exit(1);
+            }
+        }
+
+        boolean ok;
+        try {
+            ok = run(outputDir, parallelism);
+        } finally {
+            DBConnection.shutdown();
+        }
+        // A term's reports are only complete if every one of them was written
+        if (!ok) System.exit(1);
+    }
+
+    private static boolean run(File outputDir, int parallelism) {
+        if (!outputDir.isDirectory() && !outputDir.mkdirs()) {
+            System.err.println("❌ Cannot create output directory: " + outputDir.getAbsolutePath());
+            return false;
+        }
+
+        long start = System.nanoTime();
+        List<Student> roster;
+        try {
+            // The async read reports database failures instead of returning an empty roster
+            roster = AsyncStudentDAO.getAllStudents().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            System.err.println("❌ Could not load the roster: " + cause.getMessage());
+            cause.printStackTrace();
+            return false;
+        }
+        List<Report> reports = partition(roster);
+        System.out.println("Loaded " + roster.size() + " students, rendering " + reports.size()
+                + " reports on " + parallelism + " threads...");
+
+        AtomicInteger failures = new AtomicInteger();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>();
+            for (Report report : reports) {
+                tasks.add(pool.submit(() -> render(report, outputDir, failures)));
+            }
+            tasks.forEach(ForkJoinTask::join);
+        } finally {
+            pool.shutdown();
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        int written = reports.size() - failures.get();
+        if (failures.get() > 0) {
+            System.err.println("❌ " + failures.get() + " of " + reports.size() + " reports failed, "
+                    + written + " written to " + outputDir.getAbsolutePath() + " in " + millis + " ms");
+            return false;
+        }
+        System.out.println("✅ " + written + " reports written to "
+                + outputDir.getAbsolutePath() + " in " + millis + " ms");
+        return true;
+    }
+
+    private static void render(Report report, File outputDir, AtomicInteger failures) {
+        try {
+            new StudentPdfExporter(report.title())
+                    .export(report.students(), new File(outputDir, report.fileName()), (done, total) -> {}, () -> false);
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            System.err.println("❌ Failed to write " + report.fileName());
+            e.printStackTrace();
+        }
+    }
+
+    // ===== Grouping =====
+    // Groups are keyed by their file name, so names that only differ in case or punctuation
+    // ("Peanut", "peanut.") share one report instead of two workers writing the same file
+    private static List<Report> partition(List<Student> roster) {
+        Map<String, Report> byAge = new TreeMap<>();
+        Map<String, Report> byAllergy = new TreeMap<>();
+        Map<String, Report> byGender = new TreeMap<>();
+        Map<String, Report> byClass = new TreeMap<>();
+
+        for (Student s : roster) {
+            int age = s.getAge();
+            String gender = (s.getGender() == null || s.getGender().isBlank()) ? "Unknown" : s.getGender().trim();
+
+            add(byAge, "age-" + age + ".pdf", "Students Aged " + age, s);
+            add(byGender, "gender-" + slug(gender) + ".pdf", gender + " Students", s);
+            add(byClass, "class-" + slug(gender) + "-age-" + age + ".pdf", gender + " Students Aged " + age, s);
+
+            // Kitchen lists only need children who actually have an allergy
+            String allergy = s.getAllergy();
+            if (allergy != null && !allergy.isBlank() && !allergy.equalsIgnoreCase("None")) {
+                add(byAllergy, "allergy-" + slug(allergy) + ".pdf", "Allergy: " + allergy.trim(), s);
+            }
+        }
+
+        List<Report> reports = new ArrayList<>();
+        reports.addAll(byAge.values());
+        reports.addAll(byAllergy.values());
+        reports.addAll(byGender.values());
+        reports.addAll(byClass.values());
+        return reports;
+    }
+
+    // The first student of a group names it
+    private static void add(Map<String, Report> reports, String fileName, String title, Student student) {
+        reports.computeIfAbsent(fileName, k -> new Report(fileName, title, new ArrayList<>())).students().add(student);
+    }
+
+    private static String slug(String text) {
+        String slug = text.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-").replaceAll("(^-|-$)", "");
+        return slug.isEmpty() ? "other" : slug;
+    }
+}
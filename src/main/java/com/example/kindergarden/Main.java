@@ -1,5 +1,11 @@
 package com.example.kindergarden;
 
+import com.example.controller.FxStallDetector;
+import com.example.controller.StartupPrefetch;
+import com.example.controller.StartupTimeline;
+import com.example.controller.StudentController;
+import com.example.database.DBConnection;
+import com.example.metrics.Metrics;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Scene;
@@ -7,17 +13,28 @@ import javafx.scene.layout.BorderPane;
 import javafx.stage.Stage;
 
 public class Main extends Application {
+    private StudentController controller;
+
     @Override
     public void start(Stage primaryStage) {
         try {
+            StartupTimeline.mark("FX toolkit ready");
+            // Logs a stack sample whenever the FX thread is blocked for too long
+            FxStallDetector.start();
+
             // Load FXML layout file for the main view
             FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/student-view.fxml"));
             
             // Load the root pane from FXML
             BorderPane root = loader.load();
+            controller = loader.getController();
+            StartupTimeline.mark("FXML loaded");
 
             // Create a scene using the root pane with specific width and height
             Scene scene = new Scene(root, 1050, 850);
+            // Apply the stylesheet now so the time shows up as its own phase
+            root.applyCss();
+            StartupTimeline.mark("CSS applied");
 
             // Set the title of the main application window
             primaryStage.setTitle("Kindergarten Student Management System");
@@ -27,13 +44,32 @@ public class Main extends Application {
             
             // Display the primary stage
             primaryStage.show();
+            StartupTimeline.mark("window shown");
 
         } catch (Exception e) {
             // Print any exceptions that occur during loading or setup
             e.printStackTrace();
         }
     }
+
+    @Override
+    public void stop() {
+        // Closed before the roster finished loading: still report how far startup got
+        StartupTimeline.finish("closed");
+        FxStallDetector.stop();
+
+        // Save the local roster snapshot, then release pooled database connections on exit
+        if (controller != null) controller.shutdown();
+        DBConnection.shutdown();
+        Metrics.stop();
+    }
+
     public static void main(String[] args) {
+        StartupTimeline.mark("main");
+        // JMX MBeans (registered in the background) and the optional metrics file
+        Metrics.start();
+        // Connect and run the first query while the toolkit starts and the FXML is parsed
+        StartupPrefetch.start();
         launch(args);
     }
 }
@@ -8,10 +8,13 @@ public class TestDB {
     public static void main(String[] args) {
         try (Connection conn = DBConnection.getConnection()) {
             if (conn != null) {
-                System.out.println("✅ Database connected successfully!");
+                System.out.println("✅ Database connected successfully! (" + DBConnection.getBackend().name() + ")");
             }
+            System.out.println("Pool: " + DBConnection.getPoolStats());
         } catch (Exception e) {
             e.printStackTrace();
+        } finally {
+            DBConnection.shutdown();
         }
     }
 }
@@ -0,0 +1,43 @@
+package com.example.metrics;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.sql.SQLTimeoutException;
+import java.sql.SQLTransientConnectionException;
+
+/** Why an operation failed, along the same lines as the DataAccessException subclasses. */
+public enum ErrorType {
+    /** No connection could be obtained or it was lost (SQL state class 08, pool timeout). */
+    UNAVAILABLE,
+    /** The statement timed out. */
+    TIMEOUT,
+    /** A key, NOT NULL or check constraint was broken (SQL state class 23). */
+    CONSTRAINT,
+    /** Someone else saved the row first. */
+    CONFLICT,
+    /** The row no longer exists. */
+    NOT_FOUND,
+    /** Any other SQLException. */
+    SQL,
+    /** A file could not be read or written. */
+    IO,
+    /** An unexpected runtime exception. */
+    RUNTIME;
+
+    /** Classifies without allocating. */
+    public static ErrorType of(Throwable e) {
+        if (e instanceof IOException) return IO;
+        if (!(e instanceof SQLException sql)) return RUNTIME;
+        String state = sql.getSQLState();
+
+        if (e instanceof SQLTimeoutException) return TIMEOUT;
+        if (e instanceof SQLTransientConnectionException || (state != null && state.startsWith("08"))) {
+            return UNAVAILABLE;
+        }
+        if (e instanceof SQLIntegrityConstraintViolationException || (state != null && state.startsWith("23"))) {
+            return CONSTRAINT;
+        }
+        return SQL;
+    }
+}
@@ -0,0 +1,103 @@
+package com.example.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Registry of the application's operation metrics: one {@link OperationMetrics} per DAO
+ * method, the connection pool's acquire time, and the filter, summary and PDF export
+ * durations. Each is published as an MXBean named
+ * {@code com.example.kindergarten:type=<type>,name=<name>} (see it with jconsole or
+ * VisualVM), and with -Dkindergarten.metrics.file=path also written to a rolling file.
+ *
+ * Settings (-Dkindergarten.metrics.<name>=...): jmx (default true), file (off),
+ * intervalS (60), maxBytes (5 MB), keep (3 rolled files).
+ *
+ * Operations can be created at any time, typically in a static field. Registering with JMX
+ * starts the platform MBean server, which is slow, so it waits for {@link #start} and runs
+ * on a background thread.
+ */
+public final class Metrics {
+
+    public static final String DOMAIN = "com.example.kindergarten";
+
+    private static final boolean JMX = Boolean.parseBoolean(System.getProperty("kindergarten.metrics.jmx", "true"));
+
+    // Guarded by the class lock
+    private static final List<OperationMetrics> OPERATIONS = new ArrayList<>();
+    private static MBeanServer server;
+    private static MetricsFileReporter reporter;
+
+    // ===== Well-known operations outside the DAO =====
+    /** Time to borrow a pooled connection (waiting for a permit); errors are timeouts. */
+    public static final OperationMetrics POOL_ACQUIRE = operation("pool", "acquire");
+    /** Applying a filter to the table (FX thread). */
+    public static final OperationMetrics FILTER = operation("ui", "filter");
+    /** Updating the summary panel after the roster changed (FX thread). */
+    public static final OperationMetrics SUMMARY = operation("ui", "summary");
+    /** A whole PDF export; rows are students written. */
+    public static final OperationMetrics PDF_EXPORT = operation("report", "pdfExport");
+
+    private Metrics() {
+    }
+
+    /** Creates and registers an operation. Type and name must form a unique pair. */
+    public static synchronized OperationMetrics operation(String type, String name) {
+        OperationMetrics op = new OperationMetrics(type, name);
+        OPERATIONS.add(op);
+        if (server != null) register(op);
+        return op;
+    }
+
+    /** All operations, in creation order. */
+    public static synchronized List<OperationMetrics> all() {
+        return new ArrayList<>(OPERATIONS);
+    }
+
+    /** Publishes the MBeans and starts the file reporter if configured. Call once at startup. */
+    public static synchronized void start() {
+        String file = System.getProperty("kindergarten.metrics.file");
+        if (file != null && reporter == null) {
+            reporter = new MetricsFileReporter(Paths.get(file),
+                    Long.getLong("kindergarten.metrics.intervalS", 60),
+                    Long.getLong("kindergarten.metrics.maxBytes", 5L * 1024 * 1024),
+                    Integer.getInteger("kindergarten.metrics.keep", 3));
+            reporter.start();
+        }
+
+        if (JMX) {
+            Thread registrar = new Thread(Metrics::registerAll, "metrics-jmx");
+            registrar.setDaemon(true);
+            registrar.start();
+        }
+    }
+
+    /** Writes a last report and stops the file reporter. */
+    public static synchronized void stop() {
+        if (reporter != null) reporter.stop();
+        reporter = null;
+    }
+
+    private static void registerAll() {
+        MBeanServer platform = ManagementFactory.getPlatformMBeanServer();
+        synchronized (Metrics.class) {
+            if (server != null) return;
+            server = platform;
+            OPERATIONS.forEach(Metrics::register);
+        }
+    }
+
+    private static void register(OperationMetrics op) {
+        try {
+            ObjectName name = new ObjectName(DOMAIN + ":type=" + op.getType() + ",name=" + op.getName());
+            if (!server.isRegistered(name)) server.registerMBean(op, name);
+        } catch (JMException e) {
+            e.printStackTrace();
+        }
+    }
+}
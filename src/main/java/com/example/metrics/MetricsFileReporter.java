@@ -0,0 +1,101 @@
+package com.example.metrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends every operation's counters to a local file at a fixed interval, one JSON object
+ * per line and operation (cumulative since start, so consecutive lines can be diffed).
+ * When the file grows past maxBytes it is rolled: metrics.log becomes metrics.log.1,
+ * .1 becomes .2, and so on; the oldest beyond {@code keep} is deleted.
+ */
+final class MetricsFileReporter {
+
+    private final Path file;
+    private final long intervalSeconds;
+    private final long maxBytes;
+    private final int keep;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "metrics-file");
+        t.setDaemon(true);
+        return t;
+    });
+
+    MetricsFileReporter(Path file, long intervalSeconds, long maxBytes, int keep) {
+        this.file = file;
+        this.intervalSeconds = Math.max(1, intervalSeconds);
+        this.maxBytes = maxBytes;
+        this.keep = Math.max(0, keep);
+    }
+
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::report, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    void stop() {
+        scheduler.shutdownNow();
+        report();
+    }
+
+    private synchronized void report() {
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            if (dir != null) Files.createDirectories(dir);
+            if (Files.exists(file) && Files.size(file) >= maxBytes) roll();
+
+            String now = Instant.now().toString();
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (OperationMetrics op : Metrics.all()) {
+                    if (op.getCount() == 0) continue;
+                    out.write(line(now, op));
+                    out.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private static String line(String time, OperationMetrics op) {
+        StringBuilder errors = new StringBuilder("{");
+        for (Map.Entry<String, Long> e : op.getErrorsByType().entrySet()) {
+            if (errors.length() > 1) errors.append(',');
+            errors.append('"').append(e.getKey()).append("\":").append(e.getValue());
+        }
+        errors.append('}');
+
+        return String.format(Locale.ROOT, "{\"time\":\"%s\",\"type\":\"%s\",\"name\":\"%s\",\"count\":%d,"
+                        + "\"rows\":%d,\"errors\":%s,\"meanMs\":%.3f,\"p50Ms\":%.3f,\"p99Ms\":%.3f,"
+                        + "\"p999Ms\":%.3f,\"maxMs\":%.3f}",
+                time, op.getType(), op.getName(), op.getCount(), op.getRows(), errors,
+                op.getMeanMillis(), op.getP50Millis(), op.getP99Millis(), op.getP999Millis(), op.getMaxMillis());
+    }
+
+    private void roll() throws IOException {
+        if (keep == 0) {
+            Files.delete(file);
+            return;
+        }
+        Files.deleteIfExists(rolled(keep));
+        for (int i = keep - 1; i >= 1; i--) {
+            if (Files.exists(rolled(i))) Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
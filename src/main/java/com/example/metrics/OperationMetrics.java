@@ -0,0 +1,133 @@
+package com.example.metrics;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency, rows and errors of one operation. Create with {@link Metrics#operation}; record with
+ *
+ * <pre>
+ * long start = System.nanoTime();
+ * try {
+ *     ...
+ *     return OP.rows(students);
+ * } catch (SQLException | RuntimeException e) {
+ *     OP.failed(e);
+ *     throw e;
+ * } finally {
+ *     OP.time(start);
+ * }
+ * </pre>
+ *
+ * Every recording method is lock-free and allocation-free.
+ */
+public final class OperationMetrics implements OperationMetricsMXBean {
+
+    private static final ErrorType[] ERROR_TYPES = ErrorType.values();
+
+    private final String type;
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder rows = new LongAdder();
+    private final AtomicLongArray errors = new AtomicLongArray(ERROR_TYPES.length);
+
+    OperationMetrics(String type, String name) {
+        this.type = type;
+        this.name = name;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // ===== Recording =====
+    /** Records one call that started at {@code startNanos} (System.nanoTime) and ends now. */
+    public void time(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+    }
+
+    public void failed(Throwable e) {
+        failed(ErrorType.of(e));
+    }
+
+    public void failed(ErrorType errorType) {
+        errors.incrementAndGet(errorType.ordinal());
+    }
+
+    public void addRows(long count) {
+        rows.add(count);
+    }
+
+    /** Adds the list's size to the row count and returns the list. */
+    public <T extends List<?>> T rows(T result) {
+        rows.add(result.size());
+        return result;
+    }
+
+    // ===== MXBean =====
+    @Override
+    public long getCount() {
+        return latency.count();
+    }
+
+    @Override
+    public long getErrorCount() {
+        long sum = 0;
+        for (int i = 0; i < errors.length(); i++) sum += errors.get(i);
+        return sum;
+    }
+
+    @Override
+    public Map<String, Long> getErrorsByType() {
+        Map<String, Long> byType = new LinkedHashMap<>();
+        for (ErrorType t : ERROR_TYPES) {
+            long n = errors.get(t.ordinal());
+            if (n > 0) byType.put(t.name(), n);
+        }
+        return byType;
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.meanMillis();
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.percentileMillis(0.50);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.percentileMillis(0.99);
+    }
+
+    @Override
+    public double getP999Millis() {
+        return latency.percentileMillis(0.999);
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.maxMillis();
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        rows.reset();
+        for (int i = 0; i < errors.length(); i++) errors.set(i, 0);
+    }
+}
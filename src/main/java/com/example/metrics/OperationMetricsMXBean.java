@@ -0,0 +1,32 @@
+package com.example.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of one timed operation, e.g. com.example.kindergarten:type=dao,name=select.
+ * Times are in milliseconds; counts are since start (or the last reset).
+ */
+public interface OperationMetricsMXBean {
+
+    long getCount();
+
+    long getErrorCount();
+
+    /** Error count per {@link ErrorType} name, only the types that occurred. */
+    Map<String, Long> getErrorsByType();
+
+    /** Rows returned or affected, for database and export operations. */
+    long getRows();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP99Millis();
+
+    double getP999Millis();
+
+    double getMaxMillis();
+
+    void reset();
+}
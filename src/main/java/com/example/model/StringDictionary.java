@@ -0,0 +1,42 @@
+package com.example.model;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dictionary encoding for low-cardinality text such as city, allergy and gender.
+ * Each distinct value is stored once and rows keep a small int code instead of their own
+ * String copy. Code 0 always stands for null. Safe to use from loader threads.
+ */
+public class StringDictionary {
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+    private volatile String[] values = new String[16];
+    private int size = 1; // code 0 is reserved for null
+
+    public int encode(String value) {
+        if (value == null) return 0;
+        Integer code = codes.get(value);
+        return code != null ? code : add(value);
+    }
+
+    public String decode(int code) {
+        return values[code];
+    }
+
+    public int size() {
+        return size - 1;
+    }
+
+    private synchronized int add(String value) {
+        Integer existing = codes.get(value);
+        if (existing != null) return existing;
+
+        String[] current = values;
+        if (size == current.length) current = Arrays.copyOf(current, size * 2);
+        current[size] = value;
+        values = current; // publish the new entry before its code becomes visible
+        codes.put(value, size);
+        return size++;
+    }
+}
@@ -2,23 +2,73 @@ package com.example.model;
 
 import javafx.beans.property.*;
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
 
+/**
+ * One student row, stored compactly.
+ * Values live in primitive fields: the birthdate is packed into an int and the
+ * repeated texts (address, allergy, gender) are dictionary codes shared by every row.
+ * The JavaFX properties are only created when something asks for them; the table reads
+ * the plain values instead, so showing a row does not make it any bigger.
+ *
+ * Each row also remembers the version it was read at and which fields have changed
+ * since, so an update writes only those columns and fails if someone else saved first.
+ */
 public class Student {
-    private final IntegerProperty id;
-    private final StringProperty name;
-    private final ObjectProperty<LocalDate> birthdate;
-    private final StringProperty address;
-    private final StringProperty allergy;
-    private final StringProperty gender;
+
+    // ===== Shared dictionaries for repeated values =====
+    private static final StringDictionary ADDRESSES = new StringDictionary();
+    private static final StringDictionary ALLERGIES = new StringDictionary();
+    private static final StringDictionary GENDERS = new StringDictionary();
+
+    private static final int NO_DATE = 0;
+
+    /** The columns that can be changed and written back one by one. */
+    public enum Field { NAME, BIRTHDATE, ADDRESS, ALLERGY, GENDER }
+
+    // ===== Compact row values (used until properties exist) =====
+    private int id;
+    private String name;
+    private int birthdate;      // year << 9 | month << 5 | day
+    private int addressCode;
+    private int allergyCode;
+    private int genderCode;
+
+    // ===== Optimistic locking =====
+    private int version;        // Row version the values were read at
+    private byte dirty;         // One bit per Field changed since then
+
+    // Created on first xxxProperty() call; from then on the properties hold the values
+    private Properties properties;
+
+    private final class Properties {
+        final IntegerProperty id = new SimpleIntegerProperty(Student.this.id);
+        final StringProperty name = new SimpleStringProperty(Student.this.name);
+        final ObjectProperty<LocalDate> birthdate = new SimpleObjectProperty<>(unpack(Student.this.birthdate));
+        final StringProperty address = new SimpleStringProperty(ADDRESSES.decode(addressCode));
+        final StringProperty allergy = new SimpleStringProperty(ALLERGIES.decode(allergyCode));
+        final StringProperty gender = new SimpleStringProperty(GENDERS.decode(genderCode));
+
+        // Edits made straight through a property count as changes too
+        {
+            name.addListener((obs, oldValue, newValue) -> markDirty(Field.NAME));
+            birthdate.addListener((obs, oldValue, newValue) -> markDirty(Field.BIRTHDATE));
+            address.addListener((obs, oldValue, newValue) -> markDirty(Field.ADDRESS));
+            allergy.addListener((obs, oldValue, newValue) -> markDirty(Field.ALLERGY));
+            gender.addListener((obs, oldValue, newValue) -> markDirty(Field.GENDER));
+        }
+    }
 
     // Constructor with ID
     public Student(int id, String name, LocalDate birthdate, String address, String allergy, String gender) {
-        this.id = new SimpleIntegerProperty(id);
-        this.name = new SimpleStringProperty(name);
-        this.birthdate = new SimpleObjectProperty<>(birthdate);
-        this.address = new SimpleStringProperty(address);
-        this.allergy = new SimpleStringProperty(allergy);
-        this.gender = new SimpleStringProperty(gender);
+        this.id = id;
+        this.name = name;
+        this.birthdate = pack(birthdate);
+        this.addressCode = ADDRESSES.encode(address);
+        this.allergyCode = ALLERGIES.encode(allergy);
+        this.genderCode = GENDERS.encode(gender);
     }
 
     // Constructor without ID (for inserts)
@@ -27,32 +77,131 @@ public class Student {
     }
 
     // ===== Getters =====
-    public int getId() { return id.get(); }
-    public String getName() { return name.get(); }
-    public LocalDate getBirthdate() { return birthdate.get(); }
-    public String getAddress() { return address.get(); }
-    public String getAllergy() { return allergy.get(); }
-    public String getGender() { return gender.get(); }
-
-    // ===== Properties =====
-    public IntegerProperty idProperty() { return id; }
-    public StringProperty nameProperty() { return name; }
-    public ObjectProperty<LocalDate> birthdateProperty() { return birthdate; }
-    public StringProperty addressProperty() { return address; }
-    public StringProperty allergyProperty() { return allergy; }
-    public StringProperty genderProperty() { return gender; }
+    public int getId() { return properties != null ? properties.id.get() : id; }
+    public String getName() { return properties != null ? properties.name.get() : name; }
+    public LocalDate getBirthdate() { return properties != null ? properties.birthdate.get() : unpack(birthdate); }
+    public String getAddress() { return properties != null ? properties.address.get() : ADDRESSES.decode(addressCode); }
+    public String getAllergy() { return properties != null ? properties.allergy.get() : ALLERGIES.decode(allergyCode); }
+    public String getGender() { return properties != null ? properties.gender.get() : GENDERS.decode(genderCode); }
+
+    // ===== Properties (created lazily) =====
+    private Properties properties() {
+        if (properties == null) properties = new Properties();
+        return properties;
+    }
+
+    public IntegerProperty idProperty() { return properties().id; }
+    public StringProperty nameProperty() { return properties().name; }
+    public ObjectProperty<LocalDate> birthdateProperty() { return properties().birthdate; }
+    public StringProperty addressProperty() { return properties().address; }
+    public StringProperty allergyProperty() { return properties().allergy; }
+    public StringProperty genderProperty() { return properties().gender; }
 
     // ===== Setters =====
-    public void setName(String name) { this.name.set(name); }
-    public void setBirthdate(LocalDate birthdate) { this.birthdate.set(birthdate); }
-    public void setAddress(String address) { this.address.set(address); }
-    public void setAllergy(String allergy) { this.allergy.set(allergy); }
-    public void setGender(String gender) { this.gender.set(gender); }
+    public void setId(int id) {
+        if (properties != null) properties.id.set(id);
+        else this.id = id;
+    }
+
+    // Without properties, a setter marks its field dirty only if the value really changes
+    public void setName(String name) {
+        if (properties != null) properties.name.set(name);
+        else if (!Objects.equals(this.name, name)) {
+            this.name = name;
+            markDirty(Field.NAME);
+        }
+    }
+
+    public void setBirthdate(LocalDate birthdate) {
+        if (properties != null) properties.birthdate.set(birthdate);
+        else if (this.birthdate != pack(birthdate)) {
+            this.birthdate = pack(birthdate);
+            markDirty(Field.BIRTHDATE);
+        }
+    }
+
+    public void setAddress(String address) {
+        if (properties != null) properties.address.set(address);
+        else if (addressCode != ADDRESSES.encode(address)) {
+            this.addressCode = ADDRESSES.encode(address);
+            markDirty(Field.ADDRESS);
+        }
+    }
+
+    public void setAllergy(String allergy) {
+        if (properties != null) properties.allergy.set(allergy);
+        else if (allergyCode != ALLERGIES.encode(allergy)) {
+            this.allergyCode = ALLERGIES.encode(allergy);
+            markDirty(Field.ALLERGY);
+        }
+    }
+
+    public void setGender(String gender) {
+        if (properties != null) properties.gender.set(gender);
+        else if (genderCode != GENDERS.encode(gender)) {
+            this.genderCode = GENDERS.encode(gender);
+            markDirty(Field.GENDER);
+        }
+    }
+
+    // ===== Version and dirty fields =====
+    public int getVersion() { return version; }
+    public void setVersion(int version) { this.version = version; }
+
+    public boolean isDirty() { return dirty != 0; }
+
+    public boolean isDirty(Field field) { return (dirty & 1 << field.ordinal()) != 0; }
+
+    /** The fields changed since the row was read or last saved. */
+    public Set<Field> getDirtyFields() {
+        Set<Field> fields = EnumSet.noneOf(Field.class);
+        for (Field field : Field.values()) {
+            if (isDirty(field)) fields.add(field);
+        }
+        return fields;
+    }
+
+    /** Call once the changes are saved (or discarded). */
+    public void markClean() { dirty = 0; }
+
+    /** Takes every value and the version from a freshly read row, discarding local changes. */
+    public void copyFrom(Student other) {
+        setName(other.getName());
+        setBirthdate(other.getBirthdate());
+        setAddress(other.getAddress());
+        setAllergy(other.getAllergy());
+        setGender(other.getGender());
+        version = other.version;
+        dirty = 0;
+    }
+
+    private void markDirty(Field field) {
+        dirty |= 1 << field.ordinal();
+    }
 
     // ===== Dynamic Age Calculation =====
     public int getAge() {
-        if (birthdate.get() == null) return 0;
+        int year;
+        if (properties != null) {
+            LocalDate date = properties.birthdate.get();
+            if (date == null) return 0;
+            year = date.getYear();
+        } else {
+            if (birthdate == NO_DATE) return 0;
+            year = birthdate >> 9;
+        }
         int currentYear = LocalDate.now().getYear();
-        return currentYear - birthdate.get().getYear();
+        return currentYear - year;
+    }
+
+    // ===== Birthdate packing =====
+    private static int pack(LocalDate date) {
+        if (date == null) return NO_DATE;
+        return date.getYear() << 9 | date.getMonthValue() << 5 | date.getDayOfMonth();
+    }
+
+    private static LocalDate unpack(int packed) {
+        if (packed == NO_DATE) return null;
+        return LocalDate.of(packed >> 9, (packed >> 5) & 0xF, packed & 0x1F);
     }
 }
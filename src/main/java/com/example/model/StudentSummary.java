@@ -0,0 +1,148 @@
+package com.example.model;
+
+import com.example.metrics.Metrics;
+import javafx.beans.property.ReadOnlyStringProperty;
+import javafx.beans.property.ReadOnlyStringWrapper;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Running totals behind the summary panel.
+ * Registered as a ListChangeListener on the roster, it adjusts a few counters for each
+ * added, removed or replaced student instead of re-scanning the whole list.
+ *
+ * Counters are kept per birth year and birth month rather than per age, so they never go
+ * stale: ages and "birthdays this month" are derived from today's date when the text is
+ * rendered. Call {@link #refresh()} after midnight to re-render for the new date.
+ */
+public class StudentSummary implements ListChangeListener<Student> {
+
+    // What one student added to the counters, so it can be taken back out after in-place edits
+    private record Contribution(String gender, int birthYear, int birthMonth, boolean hasAllergy) {
+        static Contribution of(Student s) {
+            LocalDate birthdate = s.getBirthdate();
+            return new Contribution(
+                    s.getGender() == null ? null : s.getGender().toLowerCase(),
+                    birthdate == null ? Integer.MIN_VALUE : birthdate.getYear(),
+                    birthdate == null ? 0 : birthdate.getMonthValue(),
+                    s.getAllergy() != null && !s.getAllergy().trim().isEmpty());
+        }
+    }
+
+    private final Map<Student, Contribution> contributions = new IdentityHashMap<>();
+
+    // ===== Counters =====
+    private int total;
+    private int allergyCount;
+    private final Map<String, Integer> byGender = new HashMap<>();
+    private final TreeMap<Integer, Integer> byBirthYear = new TreeMap<>();
+    private final int[] byBirthMonth = new int[13]; // index 1..12; 0 = unknown
+
+    // ===== Label text =====
+    private final ReadOnlyStringWrapper totalText = new ReadOnlyStringWrapper();
+    private final ReadOnlyStringWrapper genderText = new ReadOnlyStringWrapper();
+    private final ReadOnlyStringWrapper ageGroupsText = new ReadOnlyStringWrapper();
+    private final ReadOnlyStringWrapper allergyText = new ReadOnlyStringWrapper();
+    private final ReadOnlyStringWrapper birthdaysText = new ReadOnlyStringWrapper();
+
+    public StudentSummary() {
+        refresh();
+    }
+
+    public void attach(ObservableList<Student> list) {
+        long start = System.nanoTime();
+        list.forEach(this::add);
+        refresh();
+        list.addListener(this);
+        Metrics.SUMMARY.time(start);
+    }
+
+    @Override
+    public void onChanged(Change<? extends Student> c) {
+        long start = System.nanoTime();
+        while (c.next()) {
+            if (c.wasPermutated()) continue;
+            for (Student removed : c.getRemoved()) remove(removed);
+            for (Student added : c.getAddedSubList()) add(added);
+        }
+        refresh();
+        Metrics.SUMMARY.time(start);
+    }
+
+    private void add(Student s) {
+        remove(s); // Already counted: re-count with its current values
+        Contribution c = Contribution.of(s);
+        contributions.put(s, c);
+        apply(c, 1);
+    }
+
+    private void remove(Student s) {
+        Contribution c = contributions.remove(s);
+        if (c != null) apply(c, -1);
+    }
+
+    /**
+     * Adds a pre-aggregated group of students, e.g. one row of the GROUP BY query in
+     * StudentDAO.getSummary(). Used for a summary that is not attached to a list.
+     */
+    public void addGroup(String gender, int birthYear, int birthMonth, boolean hasAllergy, int count) {
+        apply(new Contribution(gender == null ? null : gender.toLowerCase(), birthYear, birthMonth, hasAllergy), count);
+    }
+
+    private void apply(Contribution c, int delta) {
+        total += delta;
+        if (c.hasAllergy()) allergyCount += delta;
+        if (c.gender() != null) byGender.merge(c.gender(), delta, Integer::sum);
+        byBirthYear.merge(c.birthYear(), delta, Integer::sum);
+        if (byBirthYear.get(c.birthYear()) == 0) byBirthYear.remove(c.birthYear());
+        byBirthMonth[c.birthMonth()] += delta;
+    }
+
+    // ===== Rendering =====
+    /** Re-renders the label text for today's date (ages and current month). */
+    public void refresh() {
+        if (total == 0) {
+            totalText.set("Total Students: 0");
+            genderText.set("Gender: -");
+            ageGroupsText.set("Age Groups: -");
+            allergyText.set("Allergies Reported: 0");
+            birthdaysText.set("Birthdays This Month: 0");
+            return;
+        }
+
+        LocalDate today = LocalDate.now();
+        totalText.set("Total Students: " + total);
+        genderText.set("Gender: Male: " + byGender.getOrDefault("male", 0)
+                + " | Female: " + byGender.getOrDefault("female", 0));
+
+        // Youngest birth year last = ages in ascending order
+        StringBuilder groupText = new StringBuilder("Age Groups: ");
+        byBirthYear.descendingMap().forEach((year, count) -> {
+            int age = (year == Integer.MIN_VALUE) ? 0 : today.getYear() - year;
+            groupText.append(age).append(" yrs: ").append(count).append(" | ");
+        });
+        if (!byBirthYear.isEmpty()) groupText.setLength(groupText.length() - 3); // remove last "|"
+        ageGroupsText.set(groupText.toString());
+
+        allergyText.set("Allergies Reported: " + allergyCount);
+        birthdaysText.set("Birthdays This Month: " + byBirthMonth[today.getMonthValue()]);
+    }
+
+    // ===== Properties for label binding =====
+    public ReadOnlyStringProperty totalTextProperty() { return totalText.getReadOnlyProperty(); }
+    public ReadOnlyStringProperty genderTextProperty() { return genderText.getReadOnlyProperty(); }
+    public ReadOnlyStringProperty ageGroupsTextProperty() { return ageGroupsText.getReadOnlyProperty(); }
+    public ReadOnlyStringProperty allergyTextProperty() { return allergyText.getReadOnlyProperty(); }
+    public ReadOnlyStringProperty birthdaysTextProperty() { return birthdaysText.getReadOnlyProperty(); }
+
+    // ===== Counter access =====
+    public int getTotal() { return total; }
+    public int getAllergyCount() { return allergyCount; }
+    public int getGenderCount(String gender) { return byGender.getOrDefault(gender.toLowerCase(), 0); }
+    public int getBirthdaysInMonth(int month) { return byBirthMonth[month]; }
+}
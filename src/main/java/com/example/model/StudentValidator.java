@@ -0,0 +1,81 @@
+package com.example.model;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Enrolment rules shared by the entry form and the bulk importer.
+ * Each check returns an error message, or null when the value is acceptable.
+ */
+public final class StudentValidator {
+
+    public static final int MIN_AGE = 4;
+    public static final int MAX_AGE = 6;
+
+    // Column sizes of the students table (database/students_db.sql)
+    public static final int NAME_MAX_LENGTH = 100;
+    public static final int ADDRESS_MAX_LENGTH = 255;
+    public static final int ALLERGY_MAX_LENGTH = 100;
+
+    private StudentValidator() {
+    }
+
+    public static String checkName(String name) {
+        if (name == null || name.trim().isEmpty()) return "Name is required";
+        return checkLength("Name", name, NAME_MAX_LENGTH);
+    }
+
+    public static String checkBirthdate(LocalDate birthdate) {
+        if (birthdate == null) return "Birth date required";
+
+        int age = ageOn(birthdate, LocalDate.now());
+        if (age < MIN_AGE) return "Must be at least " + MIN_AGE + " years old";
+        if (age > MAX_AGE) return "Must not be older than " + MAX_AGE + " years old";
+        return null;
+    }
+
+    /** Exact age in whole years on the given date (Period-based, unlike the calendar-year Student.getAge). */
+    public static int ageOn(LocalDate birthdate, LocalDate date) {
+        return Period.between(birthdate, date).getYears();
+    }
+
+    public static String checkGender(String gender) {
+        if (gender == null || gender.trim().isEmpty()) return "Gender is required";
+        if (!gender.equalsIgnoreCase("Male") && !gender.equalsIgnoreCase("Female")) {
+            return "Gender must be Male or Female";
+        }
+        return null;
+    }
+
+    public static String checkAddress(String address) {
+        if (address == null || address.trim().isEmpty()) return "Address is required";
+        return checkLength("Address", address, ADDRESS_MAX_LENGTH);
+    }
+
+    /** The allergy is optional; it only has to fit its column. */
+    public static String checkAllergy(String allergy) {
+        return allergy == null ? null : checkLength("Allergy", allergy, ALLERGY_MAX_LENGTH);
+    }
+
+    /** All problems with the student, empty if it can be saved. */
+    public static List<String> validate(Student s) {
+        List<String> errors = new ArrayList<>(0);
+        addIfPresent(errors, checkName(s.getName()));
+        addIfPresent(errors, checkBirthdate(s.getBirthdate()));
+        addIfPresent(errors, checkGender(s.getGender()));
+        addIfPresent(errors, checkAddress(s.getAddress()));
+        addIfPresent(errors, checkAllergy(s.getAllergy()));
+        return errors;
+    }
+
+    // Longer values would fail the insert and roll back everything saved with them
+    private static String checkLength(String field, String value, int max) {
+        return value.length() > max ? field + " must be at most " + max + " characters" : null;
+    }
+
+    private static void addIfPresent(List<String> errors, String error) {
+        if (error != null) errors.add(error);
+    }
+}
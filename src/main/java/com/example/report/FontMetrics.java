@@ -0,0 +1,56 @@
+package com.example.report;
+
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cached glyph widths for one font, so measuring text is an array lookup per character
+ * instead of a PDFBox getStringWidth call per string. Safe to share between threads.
+ */
+final class FontMetrics {
+
+    static final FontMetrics HELVETICA = new FontMetrics(PDType1Font.HELVETICA);
+    static final FontMetrics HELVETICA_BOLD = new FontMetrics(PDType1Font.HELVETICA_BOLD);
+
+    private final PDFont font;
+    // Widths (in 1/1000 em) for the Latin-1 range, measured up front
+    private final float[] latin = new float[256];
+    // Anything else, measured on first use
+    private final ConcurrentHashMap<Character, Float> other = new ConcurrentHashMap<>();
+
+    private FontMetrics(PDFont font) {
+        this.font = font;
+        for (char c = 0; c < latin.length; c++) {
+            try {
+                latin[c] = font.getStringWidth(String.valueOf(c));
+            } catch (IOException | IllegalArgumentException e) {
+                latin[c] = -1; // Not encodable in this font
+            }
+        }
+    }
+
+    PDFont font() {
+        return font;
+    }
+
+    /** Width of the text in points at the given font size. */
+    float width(CharSequence text, float fontSize) {
+        float units = 0;
+        for (int i = 0; i < text.length(); i++) units += glyphWidth(text.charAt(i));
+        return units / 1000 * fontSize;
+    }
+
+    private float glyphWidth(char c) {
+        if (c < latin.length && latin[c] >= 0) return latin[c];
+        return other.computeIfAbsent(c, ch -> {
+            try {
+                return font.getStringWidth(String.valueOf(ch));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+}
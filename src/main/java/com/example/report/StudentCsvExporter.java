@@ -0,0 +1,192 @@
+package com.example.report;
+
+import com.example.database.StudentDAO;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.CancellationException;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exports the whole students table, alumni included, to CSV or TSV straight from a streamed ResultSet.
+ * Each row is formatted into one reused char buffer, encoded into one reused byte buffer
+ * and written to a FileChannel whenever that fills up, optionally through gzip.
+ * No Student objects or row lists are built, so memory stays constant with table size.
+ */
+public class StudentCsvExporter {
+
+    public enum Format {
+        CSV(','), TSV('\t');
+
+        final char delimiter;
+
+        Format(char delimiter) {
+            this.delimiter = delimiter;
+        }
+    }
+
+    // graduated_year is empty for enrolled students
+    private static final String[] HEADERS = {"id", "name", "birthdate", "address", "allergy", "gender", "graduated_year"};
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // Report progress every this many rows
+    private static final int PROGRESS_STEP = 1000;
+
+    private final Format format;
+    private final boolean gzip;
+
+    public StudentCsvExporter(Format format, boolean gzip) {
+        this.format = format;
+        this.gzip = gzip;
+    }
+
+    /** Picks the format from the file name: .tsv for tabs, a trailing .gz for gzip. */
+    public static StudentCsvExporter forFile(File file) {
+        String name = file.getName().toLowerCase();
+        boolean gzip = name.endsWith(".gz");
+        if (gzip) name = name.substring(0, name.length() - 3);
+        return new StudentCsvExporter(name.endsWith(".tsv") ? Format.TSV : Format.CSV, gzip);
+    }
+
+    // ===== Export =====
+    /**
+     * Streams the table into the file, reporting the number of rows written so far.
+     * Returns the total number of rows written.
+     *
+     * @throws CancellationException if {@code cancel} is cancelled; the query is ended on the
+     *         server rather than read to the end, and the partial file is deleted
+     */
+    public long export(File file, LongConsumer rowsWritten, StudentDAO.StreamCancel cancel) throws IOException, SQLException {
+        boolean completed = false;
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+             RowWriter writer = new RowWriter(open(fileChannel))) {
+
+            writer.writeRow(HEADERS);
+            String[] fields = new String[HEADERS.length];
+            long[] count = {0};
+
+            StudentDAO.streamStudents(rs -> {
+                readRow(rs, fields);
+                try {
+                    writer.writeRow(fields);
+                } catch (IOException e) {
+                    throw new SQLException("Failed writing " + file, e);
+                }
+                if (++count[0] % PROGRESS_STEP == 0) rowsWritten.accept(count[0]);
+            }, cancel);
+
+            rowsWritten.accept(count[0]);
+            completed = true;
+            return count[0];
+        } finally {
+            if (!completed) file.delete();
+        }
+    }
+
+    private WritableByteChannel open(FileChannel fileChannel) throws IOException {
+        if (!gzip) return fileChannel;
+        OutputStream out = new GZIPOutputStream(Channels.newOutputStream(fileChannel), BUFFER_SIZE);
+        return Channels.newChannel(out);
+    }
+
+    // Reads columns as strings: the DATE comes back as yyyy-MM-dd without a Date object
+    private static void readRow(ResultSet rs, String[] fields) throws SQLException {
+        fields[0] = rs.getString("id");
+        fields[1] = rs.getString("name");
+        fields[2] = rs.getString("birthdate");
+        fields[3] = rs.getString("address");
+        fields[4] = rs.getString("allergy");
+        fields[5] = rs.getString("gender");
+        fields[6] = rs.getString("graduated_year");
+    }
+
+    // ===== Buffered row encoding =====
+    private final class RowWriter implements AutoCloseable {
+        private final WritableByteChannel channel;
+        private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        private final StringBuilder line = new StringBuilder(256);
+        private final ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        private CharBuffer chars = CharBuffer.allocate(256);
+
+        RowWriter(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void writeRow(String[] fields) throws IOException {
+            line.setLength(0);
+            for (int i = 0; i < fields.length; i++) {
+                if (i > 0) line.append(format.delimiter);
+                appendField(fields[i]);
+            }
+            line.append('\n');
+
+            if (chars.capacity() < line.length()) chars = CharBuffer.allocate(line.length() * 2);
+            chars.clear();
+            chars.append(line).flip();
+
+            // Encode into the shared byte buffer, draining it to the channel whenever it fills
+            while (true) {
+                CoderResult result = encoder.encode(chars, bytes, false);
+                if (result.isOverflow()) {
+                    drain();
+                } else if (result.isUnderflow()) {
+                    break;
+                } else {
+                    result.throwException();
+                }
+            }
+        }
+
+        private void appendField(String value) {
+            if (value == null) return;
+            if (format == Format.TSV) {
+                // TSV has no quoting: keep each record on one line
+                for (int i = 0; i < value.length(); i++) {
+                    char c = value.charAt(i);
+                    line.append(c == '\t' || c == '\n' || c == '\r' ? ' ' : c);
+                }
+                return;
+            }
+            boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                    || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+            if (!quote) {
+                line.append(value);
+                return;
+            }
+            line.append('"');
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                if (c == '"') line.append('"');
+                line.append(c);
+            }
+            line.append('"');
+        }
+
+        private void drain() throws IOException {
+            bytes.flip();
+            while (bytes.hasRemaining()) channel.write(bytes);
+            bytes.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                drain();
+            } finally {
+                if (channel.isOpen()) channel.close(); // finishes the gzip stream if there is one
+            }
+        }
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.report;
+
+import com.example.metrics.Metrics;
+import com.example.model.Student;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Renders a list of students as a paginated PDF table.
+ * Runs without any UI so it can be driven from a background task or a command-line tool.
+ * Page content is spooled to a temporary file as each page is finished, so memory use
+ * stays flat however many students are exported.
+ */
+public class StudentPdfExporter {
+
+    /** Receives the number of students written so far. */
+    public interface ProgressListener {
+        void onProgress(int done, int total);
+    }
+
+    // ===== Layout =====
+    private static final String[] HEADERS = {"Name", "Age", "Allergy", "Birthday", "Gender"};
+    private static final float[] COLUMN_WEIGHTS = {190, 40, 200, 100, 100};
+    private static final float MARGIN = 50;
+    private static final float TABLE_WIDTH = 500;
+    private static final float TABLE_TOP = 730;
+    private static final float BOTTOM_MARGIN = 50;
+    private static final float ROW_HEIGHT = 25;
+    private static final float LINE_HEIGHT = 15;
+    private static final float FONT_SIZE = 12;
+    private static final float CELL_PADDING = 10;
+    // Report progress every this many rows
+    private static final int PROGRESS_STEP = 100;
+
+    private static final FontMetrics BODY = FontMetrics.HELVETICA;
+    private static final FontMetrics BOLD = FontMetrics.HELVETICA_BOLD;
+
+    private final String title;
+    private final float[] colWidths = calculateColumnWidths(COLUMN_WEIGHTS, TABLE_WIDTH);
+
+    public StudentPdfExporter() {
+        this("Kindergarten Student List");
+    }
+
+    public StudentPdfExporter(String title) {
+        this.title = title;
+    }
+
+    // ===== Export =====
+    /**
+     * Writes the students to the file.
+     *
+     * @throws CancellationException if {@code cancelled} turns true; the file is then left untouched
+     */
+    public void export(List<Student> students, File file, ProgressListener progress,
+                       BooleanSupplier cancelled) throws IOException {
+        long start = System.nanoTime();
+        try {
+            write(students, file, progress, cancelled);
+            Metrics.PDF_EXPORT.addRows(students.size());
+        } catch (IOException | RuntimeException e) {
+            if (!(e instanceof CancellationException)) Metrics.PDF_EXPORT.failed(e);
+            throw e;
+        } finally {
+            Metrics.PDF_EXPORT.time(start);
+        }
+    }
+
+    private void write(List<Student> students, File file, ProgressListener progress,
+                       BooleanSupplier cancelled) throws IOException {
+        try (PDDocument doc = new PDDocument(MemoryUsageSetting.setupTempFileOnly())) {
+            PageWriter writer = new PageWriter(doc);
+            try {
+                int done = 0;
+                for (Student s : students) {
+                    if (cancelled.getAsBoolean()) throw new CancellationException("PDF export cancelled");
+                    writer.writeRow(layoutRow(s));
+                    if (++done % PROGRESS_STEP == 0) progress.onProgress(done, students.size());
+                }
+            } finally {
+                writer.close();
+            }
+            progress.onProgress(students.size(), students.size());
+            doc.save(file);
+        }
+    }
+
+    // Keeps the open page and the current y position while rows are appended
+    private final class PageWriter {
+        private final PDDocument doc;
+        private PDPageContentStream content;
+        private float yPosition;
+
+        PageWriter(PDDocument doc) throws IOException {
+            this.doc = doc;
+            newPage();
+        }
+
+        void writeRow(RowLayout row) throws IOException {
+            // Start a new page if this row does not fit on the current one
+            if (yPosition - row.height < BOTTOM_MARGIN) {
+                content.close();
+                newPage();
+            }
+            drawRowBorders(content, yPosition, row.height);
+            drawRowText(content, row, yPosition);
+            yPosition -= row.height;
+        }
+
+        private void newPage() throws IOException {
+            PDPage page = new PDPage(PDRectangle.A4);
+            doc.addPage(page);
+            content = new PDPageContentStream(doc, page);
+            drawTitle(content);
+            yPosition = drawTableHeader(content, TABLE_TOP);
+        }
+
+        void close() throws IOException {
+            content.close();
+        }
+    }
+
+    // ===== Helper: Draw PDF title =====
+    private void drawTitle(PDPageContentStream content) throws IOException {
+        content.beginText();
+        content.setFont(BOLD.font(), 16);
+        content.newLineAtOffset(200, 770);
+        content.showText(title);
+        content.endText();
+    }
+
+    // ===== Helper: Calculate proportional column widths =====
+    private static float[] calculateColumnWidths(float[] origWidths, float tableWidth) {
+        float total = 0;
+        for (float w : origWidths) total += w;
+        float[] widths = new float[origWidths.length];
+        for (int i = 0; i < origWidths.length; i++) widths[i] = origWidths[i] / total * tableWidth;
+        return widths;
+    }
+
+    // ===== Helper: Draw table header =====
+    private float drawTableHeader(PDPageContentStream content, float yPosition) throws IOException {
+        content.setLineWidth(1);
+        content.setFont(BOLD.font(), FONT_SIZE);
+
+        // Outer rectangle for the header row
+        content.addRect(MARGIN, yPosition - ROW_HEIGHT, TABLE_WIDTH, ROW_HEIGHT);
+        content.stroke();
+
+        float colX = MARGIN;
+        for (int i = 0; i < HEADERS.length; i++) {
+            float textWidth = BOLD.width(HEADERS[i], FONT_SIZE);
+            content.beginText();
+            content.newLineAtOffset(colX + (colWidths[i] - textWidth) / 2, yPosition - ROW_HEIGHT / 2 - 6);
+            content.showText(HEADERS[i]);
+            content.endText();
+            colX += colWidths[i];
+        }
+
+        drawColumnLines(content, yPosition, ROW_HEIGHT);
+
+        // Reset font for rows
+        content.setFont(BODY.font(), FONT_SIZE);
+        return yPosition - ROW_HEIGHT;
+    }
+
+    // ===== Row layout (single pass, widths measured once) =====
+    // Package-private, like layoutRow, so the benchmarks module can time layout without drawing
+    static final class RowLayout {
+        final List<List<String>> lines = new ArrayList<>();
+        final List<float[]> lineWidths = new ArrayList<>();
+        float height = ROW_HEIGHT;
+    }
+
+    RowLayout layoutRow(Student s) {
+        String[] data = {
+            safe(s.getName()),
+            String.valueOf(s.getAge()),
+            (s.getAllergy() == null || s.getAllergy().isEmpty()) ? "-" : s.getAllergy(),
+            (s.getBirthdate() == null) ? "-" : s.getBirthdate().toString(),
+            (s.getGender() == null || s.getGender().isEmpty()) ? "-" : s.getGender()
+        };
+
+        RowLayout row = new RowLayout();
+        List<Float> widths = new ArrayList<>();
+        for (int i = 0; i < data.length; i++) {
+            List<String> lines = new ArrayList<>();
+            widths.clear();
+            wrap(data[i], colWidths[i] - CELL_PADDING, lines, widths);
+
+            float[] lineWidths = new float[widths.size()];
+            for (int j = 0; j < lineWidths.length; j++) lineWidths[j] = widths.get(j);
+            row.lines.add(lines);
+            row.lineWidths.add(lineWidths);
+            row.height = Math.max(row.height, lines.size() * LINE_HEIGHT);
+        }
+        return row;
+    }
+
+    // Greedy word wrap: each word is measured once and line widths are kept for centring
+    private static void wrap(String text, float availableWidth, List<String> lines, List<Float> widths) {
+        float spaceWidth = BODY.width(" ", FONT_SIZE);
+        StringBuilder line = new StringBuilder();
+        float lineWidth = 0;
+
+        for (String word : text.split(" ")) {
+            float wordWidth = BODY.width(word, FONT_SIZE);
+            if (line.length() == 0) {
+                line.append(word);
+                lineWidth = wordWidth;
+            } else if (lineWidth + spaceWidth + wordWidth < availableWidth) {
+                line.append(' ').append(word);
+                lineWidth += spaceWidth + wordWidth;
+            } else {
+                lines.add(line.toString());
+                widths.add(lineWidth);
+                line.setLength(0);
+                line.append(word);
+                lineWidth = wordWidth;
+            }
+        }
+        if (line.length() > 0) {
+            lines.add(line.toString());
+            widths.add(lineWidth);
+        }
+    }
+
+    // ===== Helper: Draw row borders =====
+    private void drawRowBorders(PDPageContentStream content, float rowTop, float rowHeight) throws IOException {
+        content.moveTo(MARGIN, rowTop);
+        content.lineTo(MARGIN + TABLE_WIDTH, rowTop);
+        content.stroke();
+        content.moveTo(MARGIN, rowTop - rowHeight);
+        content.lineTo(MARGIN + TABLE_WIDTH, rowTop - rowHeight);
+        content.stroke();
+        drawColumnLines(content, rowTop, rowHeight);
+    }
+
+    private void drawColumnLines(PDPageContentStream content, float rowTop, float rowHeight) throws IOException {
+        float colX = MARGIN;
+        for (float w : colWidths) {
+            content.moveTo(colX, rowTop);
+            content.lineTo(colX, rowTop - rowHeight);
+            content.stroke();
+            colX += w;
+        }
+        content.moveTo(MARGIN + TABLE_WIDTH, rowTop);
+        content.lineTo(MARGIN + TABLE_WIDTH, rowTop - rowHeight);
+        content.stroke();
+    }
+
+    // ===== Helper: Draw row text (centred, using the widths from layout) =====
+    private void drawRowText(PDPageContentStream content, RowLayout row, float rowTop) throws IOException {
+        float colX = MARGIN;
+        for (int i = 0; i < row.lines.size(); i++) {
+            List<String> lines = row.lines.get(i);
+            float[] widths = row.lineWidths.get(i);
+            float startY = rowTop - (row.height - lines.size() * LINE_HEIGHT) / 2 - 12;
+
+            for (int j = 0; j < lines.size(); j++) {
+                content.beginText();
+                content.newLineAtOffset(colX + (colWidths[i] - widths[j]) / 2, startY);
+                content.showText(lines.get(j));
+                content.endText();
+                startY -= LINE_HEIGHT;
+            }
+            colX += colWidths[i];
+        }
+    }
+
+    // ===== Helper: safely handle null strings =====
+    private static String safe(String s) {
+        return (s == null) ? "-" : s;
+    }
+}
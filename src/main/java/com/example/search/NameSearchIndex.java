@@ -0,0 +1,158 @@
+package com.example.search;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Fuzzy name search over student slots using a trigram index of name tokens.
+ *
+ * Names are split into tokens and each distinct token is indexed once by its trigrams,
+ * so a lookup touches only tokens sharing trigrams with the query (or starting with it),
+ * not every student. Matches are scored by Dice similarity, which tolerates misspellings
+ * such as "Zafrun" for "Zafran". Malaysian name particles (Bin, Binti, a/l, a/p, ...)
+ * carry little weight, so "Bin Ali" ranks on "Ali" rather than on "Bin".
+ */
+public class NameSearchIndex {
+
+    // Minimum similarity for a token to count as a match, and for a student to be returned
+    private static final float TOKEN_THRESHOLD = 0.45f;
+    private static final float SCORE_THRESHOLD = 0.35f;
+    // Score given to a token that starts with the query token (prefix search on given names)
+    private static final float PREFIX_SCORE = 0.9f;
+    private static final float PARTICLE_WEIGHT = 0.15f;
+
+    private static final Set<String> PARTICLES = Set.of(
+            "bin", "binti", "binte", "bte", "bt", "bn", "b", "a/l", "a/p", "al", "ap", "s/o", "d/o", "anak", "ak");
+
+    // ===== Token dictionary =====
+    private final Map<String, Integer> tokenIds = new HashMap<>();
+    private final TreeMap<String, Integer> sortedTokens = new TreeMap<>();  // for prefix lookups
+    private final List<String> tokens = new ArrayList<>();
+    private final List<Integer> tokenTrigramCount = new ArrayList<>();
+    private final List<BitSet> tokenSlots = new ArrayList<>();             // token -> slots using it
+    private final Map<String, BitSet> trigramTokens = new HashMap<>();      // trigram -> tokens
+
+    // slot -> token ids of that student's name (for removal)
+    private final Map<Integer, int[]> slotTokens = new HashMap<>();
+
+    // ===== Maintenance =====
+    public void add(int slot, String name) {
+        List<String> parts = tokenize(name);
+        int[] ids = new int[parts.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = tokenId(parts.get(i));
+            tokenSlots.get(ids[i]).set(slot);
+        }
+        slotTokens.put(slot, ids);
+    }
+
+    public void remove(int slot) {
+        int[] ids = slotTokens.remove(slot);
+        if (ids == null) return;
+        for (int id : ids) tokenSlots.get(id).clear(slot);
+        // Token ids are kept even when unused: the dictionary only grows with distinct names
+    }
+
+    private int tokenId(String token) {
+        Integer existing = tokenIds.get(token);
+        if (existing != null) return existing;
+
+        int id = tokens.size();
+        tokens.add(token);
+        tokenSlots.add(new BitSet());
+        tokenIds.put(token, id);
+        sortedTokens.put(token, id);
+
+        List<String> grams = trigrams(token);
+        tokenTrigramCount.add(grams.size());
+        for (String gram : grams) trigramTokens.computeIfAbsent(gram, k -> new BitSet()).set(id);
+        return id;
+    }
+
+    // ===== Search =====
+    /**
+     * Scores every matching slot between 0 and 1 (1 = every query token matched exactly).
+     * Slots below the score threshold are left out.
+     */
+    public Map<Integer, Float> search(String query) {
+        List<String> queryTokens = tokenize(query);
+        Map<Integer, Float> scores = new HashMap<>();
+        if (queryTokens.isEmpty()) return scores;
+
+        boolean onlyParticles = queryTokens.stream().allMatch(PARTICLES::contains);
+        float totalWeight = 0;
+
+        for (String queryToken : queryTokens) {
+            float weight = (PARTICLES.contains(queryToken) && !onlyParticles) ? PARTICLE_WEIGHT : 1f;
+            totalWeight += weight;
+
+            // Best similarity this query token reaches in each slot
+            Map<Integer, Float> best = new HashMap<>();
+            matchingTokens(queryToken).forEach((tokenId, similarity) -> {
+                BitSet slots = tokenSlots.get(tokenId);
+                for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+                    best.merge(slot, similarity, Math::max);
+                }
+            });
+            float w = weight;
+            best.forEach((slot, similarity) -> scores.merge(slot, similarity * w, Float::sum));
+        }
+
+        float norm = totalWeight;
+        scores.replaceAll((slot, sum) -> sum / norm);
+        scores.values().removeIf(score -> score < SCORE_THRESHOLD);
+        return scores;
+    }
+
+    // Dictionary tokens similar to the query token, with their similarity
+    private Map<Integer, Float> matchingTokens(String queryToken) {
+        Map<Integer, Float> matches = new HashMap<>();
+
+        // Prefix matches ("Zaf" -> "zafran")
+        for (Integer id : sortedTokens.subMap(queryToken, queryToken + Character.MAX_VALUE).values()) {
+            matches.put(id, tokens.get(id).equals(queryToken) ? 1f : PREFIX_SCORE);
+        }
+
+        // Trigram overlap, counted per candidate token
+        List<String> grams = trigrams(queryToken);
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String gram : grams) {
+            BitSet candidates = trigramTokens.get(gram);
+            if (candidates == null) continue;
+            for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+                shared.merge(id, 1, Integer::sum);
+            }
+        }
+        shared.forEach((id, count) -> {
+            float dice = 2f * count / (grams.size() + tokenTrigramCount.get(id));
+            if (dice >= TOKEN_THRESHOLD) matches.merge(id, dice, Math::max);
+        });
+        return matches;
+    }
+
+    // ===== Tokenising =====
+    static List<String> tokenize(String name) {
+        List<String> result = new ArrayList<>();
+        if (name == null) return result;
+        for (String raw : name.toLowerCase(Locale.ROOT).split("[\\s,.]+")) {
+            // Keep the slash in a/l, a/p, s/o, d/o; drop any other punctuation
+            String token = raw.replaceAll("[^\\p{L}\\p{N}/]", "");
+            if (!token.isEmpty()) result.add(token);
+        }
+        return result;
+    }
+
+    // Padded so that the start and end of a token weigh in: "ali" -> "  a", " al", "ali", "li "
+    private static List<String> trigrams(String token) {
+        String padded = "  " + token + " ";
+        List<String> grams = new ArrayList<>(padded.length() - 2);
+        for (int i = 0; i + 3 <= padded.length(); i++) grams.add(padded.substring(i, i + 3));
+        return grams;
+    }
+}
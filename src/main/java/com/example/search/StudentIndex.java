@@ -0,0 +1,251 @@
+package com.example.search;
+
+import com.example.model.Student;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+
+/**
+ * In-memory attribute indexes over the roster list, kept current through a ListChangeListener.
+ * Every student gets a slot number; each indexed value maps to a bitmap of the slots holding it,
+ * so filters become a handful of bitmap ANDs/ORs instead of a scan over every row.
+ *
+ * Attach the index to the list BEFORE creating any FilteredList over it: list listeners run in
+ * registration order and the filter must see an index that already reflects the change.
+ *
+ * Changes arrive on the FX thread; queries may be evaluated on a background thread
+ * (live search), so maintenance takes the write lock and evaluation the read lock.
+ */
+public class StudentIndex implements ListChangeListener<Student> {
+
+    // Values recorded when a student was indexed, so it can be un-indexed even after in-place edits
+    private static final class Entry {
+        final int slot;
+        final String gender;
+        final int birthYear;
+        final String allergy;
+
+        Entry(int slot, String gender, int birthYear, String allergy) {
+            this.slot = slot;
+            this.gender = gender;
+            this.birthYear = birthYear;
+            this.allergy = allergy;
+        }
+    }
+
+    private final Map<Student, Entry> entries = new IdentityHashMap<>();
+    private final BitSet liveSlots = new BitSet();
+    private final BitSet freeSlots = new BitSet();
+    private int nextSlot;
+    private long modCount;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // ===== Attribute indexes =====
+    private final Map<String, BitSet> byGender = new HashMap<>();
+    private final Map<Integer, BitSet> byBirthYear = new HashMap<>();
+    private final Map<String, BitSet> byAllergy = new HashMap<>();   // inverted index: allergy -> slots
+    private final NameSearchIndex names = new NameSearchIndex();
+
+    public void attach(ObservableList<Student> list) {
+        lock.writeLock().lock();
+        try {
+            list.forEach(this::index);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        list.addListener(this);
+    }
+
+    @Override
+    public void onChanged(Change<? extends Student> c) {
+        lock.writeLock().lock();
+        try {
+            while (c.next()) {
+                if (c.wasPermutated()) continue; // Same students, new order: nothing to re-index
+                for (Student removed : c.getRemoved()) unindex(removed);
+                for (Student added : c.getAddedSubList()) index(added);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ===== Maintenance =====
+    private void index(Student s) {
+        if (entries.containsKey(s)) unindex(s);
+
+        int slot = freeSlots.nextSetBit(0);
+        if (slot >= 0) {
+            freeSlots.clear(slot);
+        } else {
+            slot = nextSlot++;
+        }
+
+        Entry entry = new Entry(slot, genderKey(s.getGender()), birthYear(s), allergyKey(s.getAllergy()));
+        entries.put(s, entry);
+        names.add(slot, s.getName());
+        liveSlots.set(slot);
+
+        if (entry.gender != null) byGender.computeIfAbsent(entry.gender, k -> new BitSet()).set(slot);
+        byBirthYear.computeIfAbsent(entry.birthYear, k -> new BitSet()).set(slot);
+        byAllergy.computeIfAbsent(entry.allergy, k -> new BitSet()).set(slot);
+        modCount++;
+    }
+
+    private void unindex(Student s) {
+        Entry entry = entries.remove(s);
+        if (entry == null) return;
+
+        int slot = entry.slot;
+        if (entry.gender != null) clearSlot(byGender, entry.gender, slot);
+        clearSlot(byBirthYear, entry.birthYear, slot);
+        clearSlot(byAllergy, entry.allergy, slot);
+        names.remove(slot);
+        liveSlots.clear(slot);
+        freeSlots.set(slot);
+        modCount++;
+    }
+
+    private static <K> void clearSlot(Map<K, BitSet> index, K key, int slot) {
+        BitSet bits = index.get(key);
+        if (bits == null) return;
+        bits.clear(slot);
+        if (bits.isEmpty()) index.remove(key);
+    }
+
+    // ===== Lookups used by StudentQuery =====
+    BitSet gender(String gender) {
+        return copyOf(byGender.get(genderKey(gender)));
+    }
+
+    // Age is "current year - birth year", so an age maps to exactly one birth-year bitmap
+    BitSet age(int age) {
+        return copyOf(byBirthYear.get(LocalDate.now().getYear() - age));
+    }
+
+    // Same "contains" rule as the original filter, checked once per distinct allergy value
+    BitSet allergy(String keyword) {
+        String needle = keyword.toLowerCase();
+        BitSet result = new BitSet();
+        byAllergy.forEach((allergy, slots) -> {
+            if (allergy.contains(needle)) result.or(slots);
+        });
+        return result;
+    }
+
+    // Fuzzy / prefix match through the trigram index
+    BitSet name(String keyword) {
+        BitSet result = new BitSet();
+        names.search(keyword).keySet().forEach(result::set);
+        return result;
+    }
+
+    private static BitSet copyOf(BitSet bits) {
+        return bits == null ? new BitSet() : (BitSet) bits.clone();
+    }
+
+    // ===== Results as a view =====
+    /**
+     * Returns a predicate for FilteredList that tests membership in the query's result bitmap.
+     * The bitmap is computed here (so this may be called off the FX thread) and recomputed only
+     * when the index has changed (or the year rolled over) since, so rows added while a filter
+     * is active are still matched correctly.
+     */
+    public Predicate<Student> matcher(StudentQuery query) {
+        return new Predicate<>() {
+            private BitSet result;
+            private long evaluatedAt = -1;
+            private long validUntilMillis;
+
+            {
+                evaluate();
+            }
+
+            private void evaluate() {
+                lock.readLock().lock();
+                try {
+                    result = query.evaluate(StudentIndex.this);
+                    evaluatedAt = modCount;
+                    validUntilMillis = startOfNextYearMillis();
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+
+            @Override
+            public boolean test(Student s) {
+                if (evaluatedAt != modCount || System.currentTimeMillis() >= validUntilMillis) evaluate();
+                Entry entry = entries.get(s);
+                return entry != null && result.get(entry.slot);
+            }
+        };
+    }
+
+    /**
+     * Orders students by how well their name matches the keyword, best first.
+     * Scores are computed here and recomputed lazily when the index changes.
+     */
+    public Comparator<Student> nameRanking(String keyword) {
+        return new Comparator<>() {
+            private Map<Integer, Float> scores;
+            private long evaluatedAt = -1;
+
+            {
+                evaluate();
+            }
+
+            private void evaluate() {
+                lock.readLock().lock();
+                try {
+                    scores = names.search(keyword);
+                    evaluatedAt = modCount;
+                } finally {
+                    lock.readLock().unlock();
+                }
+            }
+
+            @Override
+            public int compare(Student a, Student b) {
+                if (evaluatedAt != modCount) evaluate();
+                return Float.compare(score(b), score(a));
+            }
+
+            private float score(Student s) {
+                Entry entry = entries.get(s);
+                return entry == null ? 0f : scores.getOrDefault(entry.slot, 0f);
+            }
+        };
+    }
+
+    // Ages only change when the year does, so results stay valid until then
+    private static long startOfNextYearMillis() {
+        return LocalDate.now().plusYears(1).withDayOfYear(1)
+                .atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    // ===== Key normalisation =====
+    private static String genderKey(String gender) {
+        return gender == null ? null : gender.toLowerCase();
+    }
+
+    // Empty allergies are shown (and filtered) as "None"
+    private static String allergyKey(String allergy) {
+        return (allergy == null || allergy.trim().isEmpty()) ? "none" : allergy.toLowerCase();
+    }
+
+    private static int birthYear(Student s) {
+        return s.getBirthdate() == null ? Integer.MIN_VALUE : s.getBirthdate().getYear();
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.search;
+
+import java.util.BitSet;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A filter over the roster, built from single-attribute criteria combined with AND / OR.
+ * Queries are evaluated against a {@link StudentIndex} as bitmap operations.
+ *
+ * Example: {@code StudentQuery.age(5).and(StudentQuery.allergy("peanut")).and(StudentQuery.gender("Female"))}
+ */
+public abstract class StudentQuery {
+
+    abstract BitSet evaluate(StudentIndex index);
+
+    // ===== Criteria =====
+    // Fuzzy, particle-aware name match (see NameSearchIndex)
+    public static StudentQuery name(String keyword) {
+        return leaf(index -> index.name(keyword));
+    }
+
+    public static StudentQuery age(int age) {
+        return leaf(index -> index.age(age));
+    }
+
+    public static StudentQuery allergy(String keyword) {
+        return leaf(index -> index.allergy(keyword));
+    }
+
+    public static StudentQuery gender(String gender) {
+        return leaf(index -> index.gender(gender));
+    }
+
+    // ===== Combinators =====
+    public StudentQuery and(StudentQuery other) {
+        StudentQuery self = this;
+        return leaf(index -> {
+            BitSet result = self.evaluate(index);
+            if (!result.isEmpty()) result.and(other.evaluate(index));
+            return result;
+        });
+    }
+
+    public StudentQuery or(StudentQuery other) {
+        StudentQuery self = this;
+        return leaf(index -> {
+            BitSet result = self.evaluate(index);
+            result.or(other.evaluate(index));
+            return result;
+        });
+    }
+
+    private interface Evaluator {
+        BitSet evaluate(StudentIndex index);
+    }
+
+    private static StudentQuery leaf(Evaluator evaluator) {
+        return new StudentQuery() {
+            @Override
+            BitSet evaluate(StudentIndex index) {
+                return evaluator.evaluate(index);
+            }
+        };
+    }
+
+    // ===== Text form =====
+    private static final Pattern OR = Pattern.compile("\\s+or\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern AND = Pattern.compile("\\s+and\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Pattern TERM = Pattern.compile("(name|age|allergy|gender)\\s*[:=]?\\s*(.+)", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * Parses text such as {@code "age 5 AND allergy peanut AND female"}.
+     * AND binds tighter than OR; a bare "male" or "female" is a gender criterion.
+     *
+     * @throws IllegalArgumentException if a term cannot be understood
+     */
+    public static StudentQuery parse(String text) {
+        StudentQuery result = null;
+        for (String alternative : OR.split(text.trim())) {
+            StudentQuery conjunction = null;
+            for (String term : AND.split(alternative.trim())) {
+                StudentQuery criterion = parseTerm(term.trim());
+                conjunction = (conjunction == null) ? criterion : conjunction.and(criterion);
+            }
+            result = (result == null) ? conjunction : result.or(conjunction);
+        }
+        return result;
+    }
+
+    private static StudentQuery parseTerm(String term) {
+        if (term.equalsIgnoreCase("male") || term.equalsIgnoreCase("female")) return gender(term);
+
+        Matcher m = TERM.matcher(term);
+        if (!m.matches()) throw new IllegalArgumentException("Unrecognised filter term: \"" + term + "\"");
+
+        String value = m.group(2).trim();
+        return switch (m.group(1).toLowerCase(Locale.ROOT)) {
+            case "name" -> name(value);
+            case "allergy" -> allergy(value);
+            case "gender" -> gender(value);
+            default -> {
+                try {
+                    yield age(Integer.parseInt(value));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Age must be a number: \"" + value + "\"");
+                }
+            }
+        };
+    }
+}
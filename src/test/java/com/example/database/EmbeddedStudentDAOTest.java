@@ -0,0 +1,13 @@
+package com.example.database;
+
+import org.junit.jupiter.api.BeforeAll;
+
+/** The storage contract on the embedded backend, in a private in-memory database. Always runs. */
+class EmbeddedStudentDAOTest extends StudentDAOContract {
+
+    @BeforeAll
+    static void useEmbeddedDatabase() {
+        System.setProperty("kindergarten.db.backend", "embedded");
+        System.setProperty("kindergarten.db.url", EmbeddedBackend.inMemoryUrl("contract"));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.database;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * The storage contract on a MySQL server, with the schema of database/students_db.sql and its
+ * migrations. Skipped unless a test database is given with -Dkindergarten.test.mysql.url
+ * (user and password with -Dkindergarten.test.mysql.user / .password).
+ */
+@EnabledIfSystemProperty(named = "kindergarten.test.mysql.url", matches = ".*\\S.*",
+        disabledReason = "no MySQL test database configured (-Dkindergarten.test.mysql.url)")
+class MySqlStudentDAOTest extends StudentDAOContract {
+
+    @BeforeAll
+    static void useMySqlDatabase() {
+        System.setProperty("kindergarten.db.backend", "mysql");
+        System.setProperty("kindergarten.db.url", System.getProperty("kindergarten.test.mysql.url"));
+        copy("kindergarten.test.mysql.user", "kindergarten.db.user");
+        copy("kindergarten.test.mysql.password", "kindergarten.db.password");
+    }
+
+    private static void copy(String from, String to) {
+        String value = System.getProperty(from);
+        if (value != null) System.setProperty(to, value);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.database;
+
+import com.example.model.Student;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RosterSnapshotTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripKeepsRowsVersionsAndPosition() throws IOException {
+        Student full = saved(new Student(7, "Aisyah", LocalDate.of(2020, 5, 1), "Shah Alam", "Peanut", "Female"), 3);
+        Student sparse = saved(new Student(9, "Bakar", null, "Ipoh", null, "Male"), 1);
+        Path file = dir.resolve("roster.snapshot");
+
+        RosterSnapshot.write(file, RosterSnapshot.encode(List.of(full, sparse), 42));
+        RosterSnapshot.Contents contents = RosterSnapshot.read(file);
+
+        assertEquals(42, contents.changeSeq());
+        assertEquals(2, contents.students().size());
+        Student first = contents.students().get(0);
+        assertEquals(7, first.getId());
+        assertEquals(3, first.getVersion());
+        assertEquals("Aisyah", first.getName());
+        assertEquals(LocalDate.of(2020, 5, 1), first.getBirthdate());
+        assertEquals("Peanut", first.getAllergy());
+        Student second = contents.students().get(1);
+        assertNull(second.getBirthdate());
+        assertNull(second.getAllergy());
+    }
+
+    @Test
+    void rowsWithUnsavedEditsAreNotWritten() {
+        Student edited = saved(new Student(7, "Aisyah", LocalDate.of(2020, 5, 1), "Shah Alam", null, "Female"), 1);
+        edited.setAddress("Not saved yet");
+
+        assertNull(RosterSnapshot.encode(List.of(edited), 42));
+    }
+
+    @Test
+    void fileCanBeReplacedRightAfterReading() throws IOException {
+        Path file = dir.resolve("roster.snapshot");
+        RosterSnapshot.write(file, RosterSnapshot.encode(List.of(), 1));
+        RosterSnapshot.read(file);
+
+        RosterSnapshot.write(file, RosterSnapshot.encode(List.of(), 2));
+        assertEquals(2, RosterSnapshot.read(file).changeSeq());
+    }
+
+    @Test
+    void missingFileIsNoSnapshotAndTruncatedFileIsAnError() throws IOException {
+        assertNull(RosterSnapshot.read(dir.resolve("missing.snapshot")));
+
+        Student student = saved(new Student(7, "Aisyah", LocalDate.of(2020, 5, 1), "Shah Alam", null, "Female"), 1);
+        byte[] data = RosterSnapshot.encode(List.of(student), 42);
+        Path truncated = dir.resolve("truncated.snapshot");
+        Files.write(truncated, Arrays.copyOf(data, data.length - 3));
+        assertThrows(IOException.class, () -> RosterSnapshot.read(truncated));
+    }
+
+    private static Student saved(Student student, int version) {
+        student.setVersion(version);
+        student.markClean();
+        return student;
+    }
+}
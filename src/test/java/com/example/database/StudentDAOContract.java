@@ -0,0 +1,322 @@
+package com.example.database;
+
+import com.example.model.Student;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * What StudentDAO must do on every storage backend. Each backend has a subclass that points
+ * DBConnection at it in a @BeforeAll, before anything here touches StudentDAO.
+ *
+ * The tests only work on students they insert themselves (named "Contract ..."), and delete
+ * them again afterwards, so the MySQL run leaves a test database as it found it.
+ */
+abstract class StudentDAOContract {
+
+    private final int birthYear = LocalDate.now().getYear() - 5;
+    private final List<Integer> created = new ArrayList<>();
+    private String marker;
+
+    @BeforeEach
+    void newMarker() {
+        marker = "Contract " + Long.toString(System.nanoTime(), 36);
+    }
+
+    @AfterEach
+    void deleteCreated() throws SQLException {
+        StudentDAO.deleteAll(created); // Graduated rows included
+        created.clear();
+    }
+
+    // ===== Insert =====
+    @Test
+    void insertStoresTheGeneratedIdAndFirstVersion() throws SQLException {
+        Student student = insert("Single", LocalDate.of(birthYear, 3, 15), "Peanut", "Female");
+
+        assertTrue(student.getId() > 0);
+        assertEquals(1, student.getVersion());
+        assertFalse(student.isDirty());
+    }
+
+    @Test
+    void batchInsertStoresOneIdPerRow() throws SQLException {
+        int countBefore = StudentDAO.count();
+        List<Student> batch = List.of(
+                student("Batch A", LocalDate.of(birthYear, 6, 1), null, "Male"),
+                student("Batch B", LocalDate.of(birthYear - 1, 1, 20), "Milk", "Female"),
+                student("Batch C", LocalDate.of(birthYear - 1, 12, 31), null, "Male"));
+        StudentDAO.addStudents(batch);
+        for (Student s : batch) created.add(s.getId());
+
+        Set<Integer> ids = ids(batch);
+        assertEquals(3, ids.size());
+        assertFalse(ids.contains(0));
+        assertEquals(countBefore + 3, StudentDAO.count());
+    }
+
+    // ===== Read =====
+    @Test
+    void findByIdReadsEveryColumn() throws SQLException {
+        Student inserted = insert("Single", LocalDate.of(birthYear, 3, 15), "Peanut", "Female");
+
+        Student found = StudentDAO.selectById(inserted.getId());
+        assertNotNull(found);
+        assertEquals(marker + " Single", found.getName());
+        assertEquals(LocalDate.of(birthYear, 3, 15), found.getBirthdate());
+        assertEquals("Shah Alam", found.getAddress());
+        assertEquals("Peanut", found.getAllergy());
+        assertEquals("Female", found.getGender());
+        assertEquals(1, found.getVersion());
+    }
+
+    @Test
+    void findByIdsReturnsOnlyExistingRows() throws SQLException {
+        Student a = insert("A", LocalDate.of(birthYear, 1, 1), null, "Male");
+        Student b = insert("B", LocalDate.of(birthYear, 1, 2), null, "Female");
+        StudentDAO.delete(b.getId());
+
+        assertEquals(Set.of(a.getId()), ids(StudentDAO.selectByIds(List.of(a.getId(), b.getId()))));
+    }
+
+    @Test
+    void pageStartsAfterTheGivenIdInIdOrder() throws SQLException {
+        Student first = insert("First", LocalDate.of(birthYear, 1, 1), null, "Male");
+        Student second = insert("Second", LocalDate.of(birthYear, 1, 2), null, "Female");
+
+        List<Student> page = StudentDAO.selectPage(first.getId() - 1, 2);
+        assertEquals(2, page.size());
+        assertEquals(first.getId(), page.get(0).getId());
+        assertEquals(second.getId(), page.get(1).getId());
+    }
+
+    @Test
+    void filterIgnoresCase() throws SQLException {
+        Student student = insert("Single", LocalDate.of(birthYear, 3, 15), "Peanut", "Female");
+
+        assertTrue(ids(StudentDAO.select(5, "female", null)).contains(student.getId()));
+        assertTrue(ids(StudentDAO.select(null, null, "pea")).contains(student.getId()));
+        assertFalse(ids(StudentDAO.select(null, null, "nut")).contains(student.getId()), "allergy is a prefix match");
+        assertFalse(ids(StudentDAO.select(null, "Male", null)).contains(student.getId()));
+    }
+
+    @Test
+    void nameSearchMatchesAnyPartIgnoringCase() throws SQLException {
+        Student a = insert("Aisyah", LocalDate.of(birthYear, 1, 1), null, "Female");
+        Student b = insert("Bakar", LocalDate.of(birthYear, 1, 2), null, "Male");
+
+        assertEquals(Set.of(a.getId(), b.getId()), ids(StudentDAO.searchByName(marker.toLowerCase())));
+        assertEquals(Set.of(a.getId()), ids(StudentDAO.searchByName(marker + " AIS")));
+    }
+
+    @Test
+    void summaryCountsEveryRow() throws SQLException {
+        int totalBefore = StudentDAO.summarize().getTotal();
+        insert("A", LocalDate.of(birthYear, 1, 1), null, "Male");
+        insert("B", LocalDate.of(birthYear, 1, 2), null, "Female");
+
+        assertEquals(totalBefore + 2, StudentDAO.summarize().getTotal());
+    }
+
+    @Test
+    void streamReadsEveryRowAlumniIncluded() throws SQLException {
+        Student enrolled = insert("Enrolled", LocalDate.of(birthYear, 1, 1), null, "Male");
+        Student alumnus = insert("Alumnus", LocalDate.of(birthYear - 1, 1, 2), null, "Female");
+        StudentDAO.graduateAll(List.of(alumnus.getId()), 2000);
+
+        Set<Integer> streamed = new HashSet<>();
+        long rows = StudentDAO.streamStudents(rs -> streamed.add(rs.getInt("id")), new StudentDAO.StreamCancel());
+        assertTrue(streamed.containsAll(List.of(enrolled.getId(), alumnus.getId())));
+        assertEquals(StudentDAO.count(true), rows);
+    }
+
+    @Test
+    void cancelStopsTheStream() throws SQLException {
+        insert("A", LocalDate.of(birthYear, 1, 1), null, "Male");
+        insert("B", LocalDate.of(birthYear, 1, 2), null, "Female");
+        StudentDAO.StreamCancel cancel = new StudentDAO.StreamCancel();
+        int[] handled = {0};
+
+        assertThrows(CancellationException.class, () -> StudentDAO.streamStudents(rs -> {
+            handled[0]++;
+            cancel.cancel();
+        }, cancel));
+        assertEquals(1, handled[0]);
+        assertThrows(CancellationException.class, () -> StudentDAO.streamStudents(rs -> handled[0]++, cancel),
+                "cancelled before the query started");
+        assertEquals(1, handled[0]);
+        assertTrue(StudentDAO.count() >= 2, "connections still usable");
+    }
+
+    // ===== Update =====
+    @Test
+    void updateBumpsTheVersionAndStaleUpdatesConflict() throws SQLException {
+        Student inserted = insert("Single", LocalDate.of(birthYear, 3, 15), "Peanut", "Female");
+        Student fresh = StudentDAO.selectById(inserted.getId());
+        Student stale = StudentDAO.selectById(inserted.getId());
+
+        fresh.setAddress("Kuala Lumpur");
+        assertEquals(StudentDAO.UpdateResult.UPDATED, StudentDAO.update(fresh));
+        assertEquals(2, fresh.getVersion());
+
+        stale.setAddress("Johor Bahru");
+        assertEquals(StudentDAO.UpdateResult.CONFLICT, StudentDAO.update(stale));
+        assertEquals("Kuala Lumpur", StudentDAO.selectById(inserted.getId()).getAddress());
+    }
+
+    @Test
+    void updateWithoutChangesWritesNothing() throws SQLException {
+        Student inserted = insert("Single", LocalDate.of(birthYear, 3, 15), null, "Female");
+
+        assertEquals(StudentDAO.UpdateResult.UNCHANGED, StudentDAO.update(inserted));
+        assertEquals(1, StudentDAO.selectById(inserted.getId()).getVersion());
+    }
+
+    @Test
+    void bulkUpdateSetsTheFieldAndBumpsEveryVersion() throws SQLException {
+        Student a = insert("A", LocalDate.of(birthYear, 1, 1), null, "Male");
+        Student b = insert("B", LocalDate.of(birthYear, 1, 2), "Milk", "Female");
+
+        assertEquals(2, StudentDAO.updateAll(List.of(a.getId(), b.getId()), StudentDAO.BulkField.ALLERGY, "Egg"));
+        for (Student s : StudentDAO.selectByIds(List.of(a.getId(), b.getId()))) {
+            assertEquals("Egg", s.getAllergy());
+            assertEquals(2, s.getVersion());
+        }
+    }
+
+    // ===== Change log =====
+    @Test
+    void insertsAndUpdatesAreInTheChangeLog() throws SQLException {
+        long seqBefore = StudentDAO.latestChangeSeq();
+        assertTrue(seqBefore >= 0, "change log readable");
+        Student inserted = insert("Single", LocalDate.of(birthYear, 3, 15), null, "Female");
+        inserted.setAddress("Ipoh");
+        StudentDAO.update(inserted);
+
+        Student logged = null;
+        for (StudentDAO.Change change : StudentDAO.changesSince(seqBefore, 1000)) {
+            if (change.studentId() == inserted.getId()) logged = change.current();
+        }
+        assertNotNull(logged);
+        assertEquals("Ipoh", logged.getAddress());
+        assertTrue(StudentDAO.latestChangeSeq() > seqBefore);
+    }
+
+    // ===== Graduate =====
+    @Test
+    void graduatedStudentsLeaveTheRosterButStayAsAlumni() throws SQLException {
+        int enrolledBefore = StudentDAO.count();
+        int allBefore = StudentDAO.count(true);
+        long seqBefore = StudentDAO.latestChangeSeq();
+        Student leaver = insert("Leaver", LocalDate.of(birthYear - 1, 2, 2), null, "Male");
+
+        assertEquals(1, StudentDAO.graduateAll(List.of(leaver.getId()), 2000));
+        assertNull(StudentDAO.selectById(leaver.getId()));
+        assertFalse(ids(StudentDAO.searchByName(marker)).contains(leaver.getId()));
+        assertEquals(enrolledBefore, StudentDAO.count());
+        assertEquals(allBefore + 1, StudentDAO.count(true));
+        assertEquals(0, StudentDAO.graduateAll(List.of(leaver.getId()), 2001), "graduating again changes nothing");
+
+        boolean readsAsRemoved = false;
+        for (StudentDAO.Change change : StudentDAO.changesSince(seqBefore, 1000)) {
+            if (change.studentId() == leaver.getId()) readsAsRemoved = change.current() == null;
+        }
+        assertTrue(readsAsRemoved, "graduation reads as removed in the change log");
+    }
+
+    @Test
+    void graduatedStudentsAreNotUpdated() throws SQLException {
+        Student leaver = insert("Leaver", LocalDate.of(birthYear - 1, 2, 2), null, "Male");
+        Student stays = insert("Stays", LocalDate.of(birthYear, 2, 2), null, "Female");
+        StudentDAO.graduateAll(List.of(leaver.getId()), 2000);
+
+        leaver.setAddress("Ipoh");
+        assertEquals(StudentDAO.UpdateResult.NOT_FOUND, StudentDAO.update(leaver));
+        assertEquals(1, StudentDAO.updateAll(List.of(leaver.getId(), stays.getId()), StudentDAO.BulkField.ALLERGY, "Egg"));
+        assertEquals(2, StudentDAO.selectById(stays.getId()).getVersion());
+    }
+
+    // ===== Import =====
+    @Test
+    void importRejectsRowsThatDoNotFitTheirColumnsAndKeepsTheRest() throws Exception {
+        String birthdate = LocalDate.now().minusYears(5).toString();
+        Path file = Files.createTempFile("contract-import", ".csv");
+        try {
+            Files.write(file, List.of(
+                    "name,birthdate,address,allergy,gender",
+                    marker + " Import A," + birthdate + ",Shah Alam,,Female",
+                    marker + " Import B," + birthdate + "," + "x".repeat(256) + ",,Male",
+                    marker + " Import C," + birthdate + ",Ipoh," + "y".repeat(101) + ",Male",
+                    marker + " Import D," + birthdate + ",Ipoh,Milk,Male"));
+
+            StudentImporter.Result result = new StudentImporter().importFile(file, (done, total) -> {}, () -> false);
+            for (Student s : result.imported()) created.add(s.getId());
+
+            assertEquals(2, result.imported().size());
+            assertEquals(List.of(3, 4), result.errors().stream().map(StudentImporter.RowError::line).toList());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    // ===== Delete =====
+    @Test
+    void deleteRemovesTheRowOnce() throws SQLException {
+        Student student = insert("Single", LocalDate.of(birthYear, 3, 15), null, "Female");
+
+        assertTrue(StudentDAO.delete(student.getId()));
+        assertFalse(StudentDAO.delete(student.getId()));
+        assertNull(StudentDAO.selectById(student.getId()));
+    }
+
+    @Test
+    void batchDeleteIsInTheChangeLog() throws SQLException {
+        int countBefore = StudentDAO.count();
+        Student a = insert("A", LocalDate.of(birthYear, 1, 1), null, "Male");
+        Student b = insert("B", LocalDate.of(birthYear, 1, 2), null, "Female");
+        long seqBeforeDelete = StudentDAO.latestChangeSeq();
+
+        assertEquals(2, StudentDAO.deleteAll(List.of(a.getId(), b.getId())));
+        assertEquals(countBefore, StudentDAO.count());
+
+        Set<Integer> deleted = new HashSet<>();
+        for (StudentDAO.Change change : StudentDAO.changesSince(seqBeforeDelete, 1000)) {
+            if (change.current() == null) deleted.add(change.studentId());
+        }
+        assertTrue(deleted.containsAll(List.of(a.getId(), b.getId())));
+    }
+
+    private Student insert(String name, LocalDate birthdate, String allergy, String gender) throws SQLException {
+        Student student = StudentDAO.insert(student(name, birthdate, allergy, gender));
+        assertNotNull(student, "insert");
+        created.add(student.getId());
+        return student;
+    }
+
+    private Student student(String name, LocalDate birthdate, String allergy, String gender) {
+        return new Student(marker + " " + name, birthdate, "Shah Alam", allergy, gender);
+    }
+
+    private static Set<Integer> ids(List<Student> students) {
+        Set<Integer> ids = new HashSet<>();
+        for (Student s : students) ids.add(s.getId());
+        return ids;
+    }
+}